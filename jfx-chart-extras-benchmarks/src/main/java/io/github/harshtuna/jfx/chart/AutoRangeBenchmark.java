@@ -0,0 +1,85 @@
+/*
+ * AutoRangeBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.geometry.Side;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TemporalAxis#autoRange} for data ranges from minutes to years of seconds, on short and long axes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AutoRangeBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 0, 0);
+    private static final double LABEL_SIZE = 24;
+
+    /**
+     * Data range in seconds
+     */
+    @Param({"100", "10000", "1000000", "100000000"})
+    public long range;
+
+    /**
+     * Axis length in pixels
+     */
+    @Param({"200", "800", "2000"})
+    public double length;
+
+    private LocalDateTimeAxis axis;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, ChronoUnit.SECONDS);
+        axis.setSide(Side.BOTTOM);
+    }
+
+    @Benchmark
+    public Object autoRange() {
+        return axis.autoRange(-range / 2, range / 2, length, LABEL_SIZE);
+    }
+
+    /**
+     * Every candidate label formatted and measured, as after a font or formatter change
+     */
+    @Benchmark
+    public Object autoRangeColdLabels() {
+        axis.invalidateLabels();
+        return axis.autoRange(-range / 2, range / 2, length, LABEL_SIZE);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * ConversionBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion between temporals and axis values for each unit, per batch of values
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 18, 23, 1, 500_000_000);
+
+    @Param({"NANOS", "MICROS", "MILLIS", "SECONDS", "MINUTES", "HOURS", "HALF_DAYS", "DAYS",
+            "WEEKS", "MONTHS", "YEARS", "DECADES", "CENTURIES"})
+    public ChronoUnit unit;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private LocalDateTimeAxis axis;
+    private long[] values;
+    private LocalDateTime[] temporals;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, unit);
+        values = new long[size];
+        temporals = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i - size / 2;
+            temporals[i] = axis.toTemporal(values[i]);
+        }
+    }
+
+    @Benchmark
+    public void toLong(Blackhole bh) {
+        for (LocalDateTime temporal : temporals) {
+            bh.consume(axis.toLong(temporal));
+        }
+    }
+
+    @Benchmark
+    public void toTemporal(Blackhole bh) {
+        for (long value : values) {
+            bh.consume(axis.toTemporal(value));
+        }
+    }
+
+    @Benchmark
+    public long[] toLongArray() {
+        return axis.toLongArray(temporals);
+    }
+}
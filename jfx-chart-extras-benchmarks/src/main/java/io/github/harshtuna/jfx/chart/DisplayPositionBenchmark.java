@@ -0,0 +1,100 @@
+/*
+ * DisplayPositionBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.geometry.Side;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between axis values and display positions, per batch of values
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DisplayPositionBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 0, 0);
+    private static final double LENGTH = 1000;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean inversed;
+
+    private LocalDateTimeAxis axis;
+    private long[] values;
+    private Long[] boxedValues;
+    private double[] positions;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, BASE.plusSeconds(size), 60, ChronoUnit.SECONDS);
+        axis.setSide(Side.BOTTOM);
+        axis.calculateNewScale(LENGTH);
+        if (inversed) axis.inverse();
+        values = new long[size];
+        boxedValues = new Long[size];
+        positions = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            boxedValues[i] = values[i];
+            positions[i] = i * LENGTH / size;
+        }
+    }
+
+    @Benchmark
+    public void getDisplayPosition(Blackhole bh) {
+        for (Long value : boxedValues) {
+            bh.consume(axis.getDisplayPosition(value));
+        }
+    }
+
+    @Benchmark
+    public void displayPosition(Blackhole bh) {
+        for (long value : values) {
+            bh.consume(axis.displayPosition(value));
+        }
+    }
+
+    @Benchmark
+    public void getValueForDisplay(Blackhole bh) {
+        for (double position : positions) {
+            bh.consume(axis.getValueForDisplay(position));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * FxToolkit.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark JVM - axes measure label text, which needs the toolkit.
+ * Benchmarks call the axis from the JMH thread, same as the functional tests do.
+ */
+final class FxToolkit {
+    private static boolean started = false;
+
+    private FxToolkit() {
+    }
+
+    static synchronized void start() {
+        if (started) return;
+        final CountDownLatch latch = new CountDownLatch(1);
+        PlatformImpl.startup(latch::countDown);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting JavaFX", e);
+        }
+        started = true;
+    }
+}
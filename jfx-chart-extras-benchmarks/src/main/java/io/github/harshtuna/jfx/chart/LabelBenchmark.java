@@ -0,0 +1,94 @@
+/*
+ * LabelBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tick label generation per batch of ticks - default ISO formatter, adaptive formatter and the label cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LabelBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 18, 23, 1);
+
+    /**
+     * Number of distinct ticks, the label cache holds 512
+     */
+    @Param({"100", "10000"})
+    public int size;
+
+    private LocalDateTimeAxis axis;
+    private LocalDateTimeAxis.AdaptiveLdtFormatter adaptiveFormatter;
+    private LocalDateTime[] temporals;
+    private Long[] ticks;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, BASE.plusMinutes(size), 1, ChronoUnit.MINUTES);
+        adaptiveFormatter = new LocalDateTimeAxis.AdaptiveLdtFormatter(axis);
+        temporals = new LocalDateTime[size];
+        ticks = new Long[size];
+        for (int i = 0; i < size; i++) {
+            ticks[i] = (long) i;
+            temporals[i] = axis.toTemporal(i);
+        }
+    }
+
+    @Benchmark
+    public void defaultFormatter(Blackhole bh) {
+        for (LocalDateTime temporal : temporals) {
+            bh.consume(axis.getTickMarkLabel(temporal));
+        }
+    }
+
+    @Benchmark
+    public void adaptiveFormatter(Blackhole bh) {
+        for (LocalDateTime temporal : temporals) {
+            bh.consume(adaptiveFormatter.toString(temporal));
+        }
+    }
+
+    @Benchmark
+    public void cachedLabel(Blackhole bh) {
+        for (Long tick : ticks) {
+            bh.consume(axis.getTickMarkLabel(tick));
+        }
+    }
+}
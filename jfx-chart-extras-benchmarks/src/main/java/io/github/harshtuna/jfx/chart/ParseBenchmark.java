@@ -0,0 +1,88 @@
+/*
+ * ParseBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISO timestamp parsing into axis values, through the formatter and straight from text, per batch of lines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 18, 23, 1, 500_000_000);
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private LocalDateTimeAxis axis;
+    private String[] lines;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, ChronoUnit.MILLIS);
+        lines = new String[size];
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            lines[i] = BASE.plusNanos(i * 1_001_000L) + ",1.0";
+            sb.append(lines[i]).append('\n');
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public void formatter(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(axis.toLong(LocalDateTime.parse(line.substring(0, line.indexOf(',')))));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(axis.parse(line, 0, line.indexOf(',')));
+        }
+    }
+
+    @Benchmark
+    public long[] parseLines() {
+        return axis.parseLines(text);
+    }
+}
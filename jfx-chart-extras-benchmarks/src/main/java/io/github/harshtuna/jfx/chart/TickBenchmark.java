@@ -0,0 +1,96 @@
+/*
+ * TickBenchmark.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Major and minor tick value calculation for a growing number of tick marks. The calculating benchmarks alternate
+ * between two axis lengths, or two minor tick counts, so that every call misses the tick memo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TickBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 8, 15, 0, 0);
+    private static final double LENGTH = 1000;
+    private static final long TICK_UNIT = 15;
+
+    @Param({"10", "100", "1000"})
+    public int tickCount;
+
+    @Param({"5"})
+    public int minorTickCount;
+
+    private LocalDateTimeAxis axis;
+    private TemporalAxis.Range range;
+    private boolean alternate;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        axis = new LocalDateTimeAxis(BASE, ChronoUnit.MINUTES);
+        final long upperBound = tickCount * TICK_UNIT;
+        range = new TemporalAxis.Range(0, upperBound, TICK_UNIT, LENGTH / upperBound);
+        axis.setAutoRanging(false);
+        axis.setMinorTickCount(minorTickCount);
+        axis.setRange(range, false);
+    }
+
+    @Benchmark
+    public List<Long> calculateTickValues() {
+        alternate = !alternate;
+        return axis.calculateTickValues(alternate ? LENGTH + 1 : LENGTH, range);
+    }
+
+    @Benchmark
+    public List<Long> calculateTickValuesMemoized() {
+        return axis.calculateTickValues(LENGTH, range);
+    }
+
+    @Benchmark
+    public List<Long> calculateMinorTickMarks() {
+        alternate = !alternate;
+        axis.setMinorTickCount(alternate ? minorTickCount + 1 : minorTickCount);
+        return axis.calculateMinorTickMarks();
+    }
+
+    @Benchmark
+    public List<Long> calculateMinorTickMarksMemoized() {
+        return axis.calculateMinorTickMarks();
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * AggregationPyramid.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Min, max, first, last and count of a {@link TemporalSeries} per bucket, at several bucket widths, so that a zoomed
+ * out chart draws O(pixels) buckets instead of scanning the raw points.
+ * Levels are kept in growable primitive columns and updated incrementally from the points appended to the series
+ * since the last {@link #update}. The pyramid can be saved and read back, then updated from where it left off.
+ *
+ * @see TemporalLineChart.Line#setPyramid
+ */
+public final class AggregationPyramid {
+    static final int MAGIC = 0x52595054; // "TPYR"
+    static final short VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Level[] levels;
+    // points of the source aggregated so far, and the last of them to detect a replaced source
+    private int aggregated = 0;
+    private long lastX = Long.MIN_VALUE;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param widths Bucket widths of the levels in axis units, ascending
+     */
+    public AggregationPyramid(long... widths) {
+        levels = new Level[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] < 1 || (i > 0 && widths[i] <= widths[i - 1]))
+                throw new IllegalArgumentException("Widths must be positive and ascending: " + Arrays.toString(widths));
+            levels[i] = new Level(widths[i], INITIAL_CAPACITY);
+        }
+    }
+
+    /**
+     * @return pyramid of levels doubling from the base width
+     */
+    public static AggregationPyramid binary(long baseWidth, int levelCount) {
+        final long[] widths = new long[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            widths[i] = baseWidth << i;
+        }
+        return new AggregationPyramid(widths);
+    }
+
+    /**
+     * @return pyramid of second, minute, hour and day buckets, those that are whole numbers of the axis unit
+     */
+    public static AggregationPyramid calendar(TemporalUnit unit) {
+        if (!FixedUnitConverter.isFixed(unit)) throw new IllegalArgumentException("Unsupported unit: " + unit);
+        final long unitNanos = unit.getDuration().toNanos();
+        final List<Long> widths = new ArrayList<>();
+        for (ChronoUnit bucket : new ChronoUnit[]{ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS}) {
+            final Duration duration = bucket.getDuration();
+            if (duration.toNanos() >= unitNanos && duration.toNanos() % unitNanos == 0) {
+                widths.add(duration.toNanos() / unitNanos);
+            }
+        }
+        final long[] result = new long[widths.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = widths.get(i);
+        }
+        return new AggregationPyramid(result);
+    }
+
+    /**
+     * Aggregates the points appended to the source since the last update, or rebuilds the pyramid if the source
+     * was replaced or cleared
+     */
+    public void update(TemporalSeries source) {
+        final int size = source.size();
+        if (size < aggregated || (aggregated > 0 && source.x(aggregated - 1) != lastX)) clear();
+        for (int i = aggregated; i < size; i++) {
+            add(source.x(i), source.y(i));
+        }
+        aggregated = size;
+    }
+
+    /**
+     * Aggregates a point appended to the source, x values must not decrease
+     */
+    private void add(long x, double y) {
+        if (x < lastX) throw new IllegalArgumentException("Points must be in non-decreasing x order: " + x);
+        lastX = x;
+        if (Double.isNaN(y)) return;
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+        for (Level level : levels) {
+            level.add(x, y);
+        }
+    }
+
+    public void clear() {
+        for (Level level : levels) {
+            level.size = 0;
+        }
+        aggregated = 0;
+        lastX = Long.MIN_VALUE;
+        minY = Double.POSITIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+    }
+
+    public int levelCount() {
+        return levels.length;
+    }
+
+    public long width(int level) {
+        return levels[level].width;
+    }
+
+    public int bucketCount(int level) {
+        return levels[level].size;
+    }
+
+    /**
+     * @return axis value the bucket starts at
+     */
+    public long bucketStart(int level, int bucket) {
+        return levels[level].keys[bucket] * levels[level].width;
+    }
+
+    public double min(int level, int bucket) {
+        return levels[level].min[bucket];
+    }
+
+    public double max(int level, int bucket) {
+        return levels[level].max[bucket];
+    }
+
+    public double first(int level, int bucket) {
+        return levels[level].first[bucket];
+    }
+
+    public double last(int level, int bucket) {
+        return levels[level].last[bucket];
+    }
+
+    public long count(int level, int bucket) {
+        return levels[level].count[bucket];
+    }
+
+    /**
+     * @return the coarsest level with buckets no wider than the given axis units per pixel, or -1 if raw points
+     * should be drawn
+     */
+    public int level(double unitsPerPixel) {
+        int result = -1;
+        for (int i = 0; i < levels.length && levels[i].width <= unitsPerPixel; i++) {
+            result = i;
+        }
+        return result;
+    }
+
+    /**
+     * @return level for the current scale of the axis, see {@link #level(double)}
+     */
+    public int level(TemporalAxis<?> axis) {
+        final double scale = Math.abs(axis.getScale());
+        return scale > 0 ? level(1 / scale) : -1;
+    }
+
+    /**
+     * @return envelope of the level as a series - first, min, max and last value of every bucket
+     */
+    public TemporalSeries view(int level) {
+        return new LevelSeries(level);
+    }
+
+    // -------------- PERSISTENCE --------------------------------------------------------------------------------------
+
+    /**
+     * Saves the levels, little endian: magic "TPYR", version, level count, aggregated point count, last x, min and
+     * max y, then per level the width, bucket count and the key, count, min, max, first and last columns
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = buffer(40);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) levels.length).putLong(aggregated).putLong(lastX)
+                    .putDouble(minY).putDouble(maxY);
+            write(header, out);
+            for (Level level : levels) {
+                final ByteBuffer columns = buffer(12 + level.size * 48);
+                columns.putLong(level.width).putInt(level.size);
+                for (int i = 0; i < level.size; i++) columns.putLong(level.keys[i]);
+                for (int i = 0; i < level.size; i++) columns.putLong(level.count[i]);
+                for (int i = 0; i < level.size; i++) columns.putDouble(level.min[i]);
+                for (int i = 0; i < level.size; i++) columns.putDouble(level.max[i]);
+                for (int i = 0; i < level.size; i++) columns.putDouble(level.first[i]);
+                for (int i = 0; i < level.size; i++) columns.putDouble(level.last[i]);
+                write(columns, out);
+            }
+        }
+    }
+
+    /**
+     * Reads a pyramid saved by {@link #write}, it continues with the points of the source after the ones it was
+     * saved with
+     *
+     * @throws IllegalArgumentException if the file is not a pyramid file
+     */
+    public static AggregationPyramid read(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (in.size() > Integer.MAX_VALUE) throw new IllegalArgumentException("Not a pyramid file");
+            final ByteBuffer buffer = buffer((int) in.size());
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            if (buffer.remaining() < 40 || buffer.getInt() != MAGIC) throw new IllegalArgumentException("Not a pyramid file");
+            final short version = buffer.getShort();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported version: " + version);
+            final int levelCount = buffer.getShort();
+            final long aggregated = buffer.getLong();
+            final long lastX = buffer.getLong();
+            final double minY = buffer.getDouble();
+            final double maxY = buffer.getDouble();
+            // validate before allocating, a corrupt file must not size the columns
+            if (levelCount < 0 || levelCount > buffer.remaining() / 12)
+                throw new IllegalArgumentException("Corrupt pyramid file, level count " + levelCount);
+            final Level[] levels = new Level[levelCount];
+            final long[] widths = new long[levelCount];
+            for (int l = 0; l < levelCount; l++) {
+                final Level level = new Level(buffer.getLong(), 0);
+                final int size = buffer.getInt();
+                if (size < 0 || size > buffer.remaining() / 48)
+                    throw new IllegalArgumentException("Corrupt pyramid file, bucket count " + size);
+                level.grow(size);
+                for (int i = 0; i < size; i++) level.keys[i] = buffer.getLong();
+                for (int i = 0; i < size; i++) level.count[i] = buffer.getLong();
+                for (int i = 0; i < size; i++) level.min[i] = buffer.getDouble();
+                for (int i = 0; i < size; i++) level.max[i] = buffer.getDouble();
+                for (int i = 0; i < size; i++) level.first[i] = buffer.getDouble();
+                for (int i = 0; i < size; i++) level.last[i] = buffer.getDouble();
+                level.size = size;
+                levels[l] = level;
+                widths[l] = level.width;
+            }
+            final AggregationPyramid pyramid = new AggregationPyramid(widths);
+            System.arraycopy(levels, 0, pyramid.levels, 0, levelCount);
+            pyramid.aggregated = (int) aggregated;
+            pyramid.lastX = lastX;
+            pyramid.minY = minY;
+            pyramid.maxY = maxY;
+            return pyramid;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated pyramid file", e);
+        }
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void write(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) out.write(buffer);
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    /**
+     * Buckets of one width in growable columns, keyed by x / width
+     */
+    private static final class Level {
+        final long width;
+        int size;
+        long[] keys;
+        long[] count;
+        double[] min;
+        double[] max;
+        double[] first;
+        double[] last;
+
+        Level(long width, int capacity) {
+            this.width = width;
+            keys = new long[capacity];
+            count = new long[capacity];
+            min = new double[capacity];
+            max = new double[capacity];
+            first = new double[capacity];
+            last = new double[capacity];
+        }
+
+        void add(long x, double y) {
+            final long key = Math.floorDiv(x, width);
+            final int i = size - 1;
+            if (i >= 0 && keys[i] == key) {
+                count[i]++;
+                if (y < min[i]) min[i] = y;
+                if (y > max[i]) max[i] = y;
+                last[i] = y;
+                return;
+            }
+            if (size == keys.length) grow(Math.max(INITIAL_CAPACITY, size * 2));
+            keys[size] = key;
+            count[size] = 1;
+            min[size] = max[size] = first[size] = last[size] = y;
+            size++;
+        }
+
+        void grow(int capacity) {
+            keys = Arrays.copyOf(keys, capacity);
+            count = Arrays.copyOf(count, capacity);
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            first = Arrays.copyOf(first, capacity);
+            last = Arrays.copyOf(last, capacity);
+        }
+    }
+
+    /**
+     * Bucket envelopes of a level: first at the bucket start, min and max in the middle, last at the bucket end
+     */
+    private final class LevelSeries extends TemporalSeries {
+        private final Level level;
+
+        LevelSeries(int level) {
+            super("level" + level);
+            this.level = levels[level];
+        }
+
+        @Override
+        public int size() {
+            return level.size * 4;
+        }
+
+        @Override
+        public long x(int index) {
+            final long start = level.keys[index >> 2] * level.width;
+            switch (index & 3) {
+                case 0:
+                    return start;
+                case 3:
+                    return start + level.width - 1;
+                default:
+                    return start + (level.width - 1) / 2;
+            }
+        }
+
+        @Override
+        public double y(int index) {
+            final int bucket = index >> 2;
+            switch (index & 3) {
+                case 0:
+                    return level.first[bucket];
+                case 1:
+                    return level.min[bucket];
+                case 2:
+                    return level.max[bucket];
+                default:
+                    return level.last[bucket];
+            }
+        }
+
+        @Override
+        public boolean isLongValued() {
+            return false;
+        }
+
+        @Override
+        public double minY() {
+            return minY;
+        }
+
+        @Override
+        public double maxY() {
+            return maxY;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * AppendableTemporalSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.util.Arrays;
+
+/**
+ * Growable {@link TemporalSeries} for live feeds and long histories. Points are kept in fixed size primitive chunks,
+ * so growing never copies the data appended before - 16 bytes per point.
+ * Points are appended in non-decreasing x order, on the thread the chart is updated on.
+ */
+public final class AppendableTemporalSeries extends TemporalSeries {
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final boolean longValued;
+    private long[][] xChunks = new long[4][];
+    private double[][] yChunks;
+    private long[][] yLongChunks;
+    private int size = 0;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+    private long minYLong = Long.MAX_VALUE;
+    private long maxYLong = Long.MIN_VALUE;
+
+    private AppendableTemporalSeries(String name, boolean longValued) {
+        super(name);
+        this.longValued = longValued;
+        if (longValued) {
+            yLongChunks = new long[4][];
+        } else {
+            yChunks = new double[4][];
+        }
+    }
+
+    public static AppendableTemporalSeries ofDoubles(String name) {
+        return new AppendableTemporalSeries(name, false);
+    }
+
+    /**
+     * Series of exact long values, e.g. for a temporal Y axis
+     */
+    public static AppendableTemporalSeries ofLongs(String name) {
+        return new AppendableTemporalSeries(name, true);
+    }
+
+    public void append(long x, double y) {
+        checkValueType(false);
+        checkOrder(x);
+        ensureChunk(size);
+        xChunks[size >>> CHUNK_BITS][size & CHUNK_MASK] = x;
+        yChunks[size >>> CHUNK_BITS][size & CHUNK_MASK] = y;
+        size++;
+        updateExtremes(y);
+        fireChanged();
+    }
+
+    public void append(long x, long y) {
+        checkValueType(true);
+        checkOrder(x);
+        ensureChunk(size);
+        xChunks[size >>> CHUNK_BITS][size & CHUNK_MASK] = x;
+        yLongChunks[size >>> CHUNK_BITS][size & CHUNK_MASK] = y;
+        size++;
+        updateExtremes(y);
+        fireChanged();
+    }
+
+    /**
+     * Appends all the points, chunk by chunk, with a single change notification
+     */
+    public void appendAll(long[] x, double[] y) {
+        checkValueType(false);
+        checkBulk(x, y.length);
+        int done = 0;
+        while (done < x.length) {
+            ensureChunk(size);
+            final int offset = size & CHUNK_MASK;
+            final int n = Math.min(CHUNK_SIZE - offset, x.length - done);
+            System.arraycopy(x, done, xChunks[size >>> CHUNK_BITS], offset, n);
+            System.arraycopy(y, done, yChunks[size >>> CHUNK_BITS], offset, n);
+            size += n;
+            done += n;
+        }
+        for (double v : y) {
+            updateExtremes(v);
+        }
+        fireChanged();
+    }
+
+    /**
+     * Appends all the points, chunk by chunk, with a single change notification
+     */
+    public void appendAll(long[] x, long[] y) {
+        checkValueType(true);
+        checkBulk(x, y.length);
+        int done = 0;
+        while (done < x.length) {
+            ensureChunk(size);
+            final int offset = size & CHUNK_MASK;
+            final int n = Math.min(CHUNK_SIZE - offset, x.length - done);
+            System.arraycopy(x, done, xChunks[size >>> CHUNK_BITS], offset, n);
+            System.arraycopy(y, done, yLongChunks[size >>> CHUNK_BITS], offset, n);
+            size += n;
+            done += n;
+        }
+        for (long v : y) {
+            updateExtremes(v);
+        }
+        fireChanged();
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(xChunks, null);
+        if (yChunks != null) Arrays.fill(yChunks, null);
+        if (yLongChunks != null) Arrays.fill(yLongChunks, null);
+        minY = Double.POSITIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+        minYLong = Long.MAX_VALUE;
+        maxYLong = Long.MIN_VALUE;
+        fireChanged();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long x(int index) {
+        checkIndex(index);
+        return xChunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public double y(int index) {
+        checkIndex(index);
+        return longValued
+                ? yLongChunks[index >>> CHUNK_BITS][index & CHUNK_MASK]
+                : yChunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public long yLong(int index) {
+        checkIndex(index);
+        return longValued
+                ? yLongChunks[index >>> CHUNK_BITS][index & CHUNK_MASK]
+                : (long) yChunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return longValued;
+    }
+
+    @Override
+    public double minY() {
+        return longValued ? minYLong : minY;
+    }
+
+    @Override
+    public double maxY() {
+        return longValued ? maxYLong : maxY;
+    }
+
+    @Override
+    public long minYLong() {
+        return longValued ? minYLong : super.minYLong();
+    }
+
+    @Override
+    public long maxYLong() {
+        return longValued ? maxYLong : super.maxYLong();
+    }
+
+    @Override
+    public int copy(int from, int to, long[] x, double[] y) {
+        int i = from;
+        while (i < to) {
+            final int chunk = i >>> CHUNK_BITS;
+            final int offset = i & CHUNK_MASK;
+            final int n = Math.min(CHUNK_SIZE - offset, to - i);
+            System.arraycopy(xChunks[chunk], offset, x, i - from, n);
+            if (longValued) {
+                for (int j = 0; j < n; j++) {
+                    y[i - from + j] = yLongChunks[chunk][offset + j];
+                }
+            } else {
+                System.arraycopy(yChunks[chunk], offset, y, i - from, n);
+            }
+            i += n;
+        }
+        return to - from;
+    }
+
+    private void ensureChunk(int index) {
+        final int chunk = index >>> CHUNK_BITS;
+        if (chunk == xChunks.length) {
+            xChunks = Arrays.copyOf(xChunks, chunk * 2);
+            if (yChunks != null) yChunks = Arrays.copyOf(yChunks, chunk * 2);
+            if (yLongChunks != null) yLongChunks = Arrays.copyOf(yLongChunks, chunk * 2);
+        }
+        if (xChunks[chunk] == null) {
+            xChunks[chunk] = new long[CHUNK_SIZE];
+            if (yChunks != null) yChunks[chunk] = new double[CHUNK_SIZE];
+            if (yLongChunks != null) yLongChunks[chunk] = new long[CHUNK_SIZE];
+        }
+    }
+
+    private void updateExtremes(double y) {
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+    }
+
+    private void updateExtremes(long y) {
+        if (y < minYLong) minYLong = y;
+        if (y > maxYLong) maxYLong = y;
+    }
+
+    private void checkIndex(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void checkValueType(boolean longValues) {
+        if (longValues != longValued)
+            throw new IllegalArgumentException("Series values are " + (longValued ? "long" : "double"));
+    }
+
+    private void checkOrder(long x) {
+        if (size > 0 && x < x(size - 1))
+            throw new IllegalArgumentException("Points must be appended in non-decreasing x order: " + x +
+                    " after " + x(size - 1));
+    }
+
+    private void checkBulk(long[] x, int yLength) {
+        if (x.length != yLength)
+            throw new IllegalArgumentException("Column lengths differ: x=" + x.length + ", y=" + yLength);
+        for (int i = 0; i < x.length; i++) {
+            if (i == 0 ? size > 0 && x[0] < x(size - 1) : x[i] < x[i - 1])
+                throw new IllegalArgumentException("Points must be appended in non-decreasing x order at " + i);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * ArrayTemporalSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+/**
+ * Series over fixed columns, see {@link TemporalSeries#of}
+ */
+final class ArrayTemporalSeries extends TemporalSeries {
+    private final long[] x;
+    private final double[] y;
+    private final long[] yLong;
+    private final double minY;
+    private final double maxY;
+    private final long minYLong;
+    private final long maxYLong;
+
+    ArrayTemporalSeries(String name, long[] x, double[] y, long[] yLong) {
+        super(name);
+        final int yLength = y != null ? y.length : yLong.length;
+        if (x.length != yLength)
+            throw new IllegalArgumentException("Column lengths differ: x=" + x.length + ", y=" + yLength);
+        this.x = x;
+        this.y = y;
+        this.yLong = yLong;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long minLong = Long.MAX_VALUE;
+        long maxLong = Long.MIN_VALUE;
+        for (int i = 0; i < x.length; i++) {
+            if (y != null) {
+                min = Math.min(min, y[i]);
+                max = Math.max(max, y[i]);
+            } else {
+                minLong = Math.min(minLong, yLong[i]);
+                maxLong = Math.max(maxLong, yLong[i]);
+            }
+        }
+        minY = y != null ? min : minLong;
+        maxY = y != null ? max : maxLong;
+        minYLong = y != null ? (long) Math.floor(min) : minLong;
+        maxYLong = y != null ? (long) Math.ceil(max) : maxLong;
+    }
+
+    @Override
+    public int size() {
+        return x.length;
+    }
+
+    @Override
+    public long x(int index) {
+        return x[index];
+    }
+
+    @Override
+    public double y(int index) {
+        return y != null ? y[index] : yLong[index];
+    }
+
+    @Override
+    public long yLong(int index) {
+        return yLong != null ? yLong[index] : (long) y[index];
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return yLong != null;
+    }
+
+    @Override
+    public double minY() {
+        return minY;
+    }
+
+    @Override
+    public double maxY() {
+        return maxY;
+    }
+
+    @Override
+    public long minYLong() {
+        return minYLong;
+    }
+
+    @Override
+    public long maxYLong() {
+        return maxYLong;
+    }
+
+    @Override
+    public int copy(int from, int to, long[] x, double[] y) {
+        System.arraycopy(this.x, from, x, 0, to - from);
+        if (this.y != null) {
+            System.arraycopy(this.y, from, y, 0, to - from);
+        } else {
+            for (int i = from; i < to; i++) {
+                y[i - from] = yLong[i];
+            }
+        }
+        return to - from;
+    }
+}
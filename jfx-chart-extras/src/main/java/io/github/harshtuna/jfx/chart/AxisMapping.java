@@ -0,0 +1,61 @@
+/*
+ * AxisMapping.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.scene.chart.ValueAxis;
+
+/**
+ * Linear value to display position mapping of an axis, anchored at the axis lower bound, so that temporal axes
+ * map long values in exact offsets. Non-linear temporal axes, e.g. business time, map each value themselves.
+ * Shared by the canvas charts, whose cached drawing is keyed on anchor and factor.
+ */
+final class AxisMapping {
+    private long reference;
+    double anchor;
+    double factor;
+    private TemporalAxis<?> nonLinearAxis;
+
+    void update(ValueAxis<?> axis) {
+        reference = (long) axis.getLowerBound();
+        nonLinearAxis = null;
+        if (axis instanceof TemporalAxis) {
+            final TemporalAxis<?> temporalAxis = (TemporalAxis<?>) axis;
+            if (!temporalAxis.isLinear()) nonLinearAxis = temporalAxis;
+            anchor = temporalAxis.displayPosition(reference);
+            factor = temporalAxis.isInversed() ? -axis.getScale() : axis.getScale();
+        } else {
+            anchor = position(axis, reference);
+            factor = axis.getScale();
+        }
+    }
+
+    private static <V extends Number> double position(ValueAxis<V> axis, double value) {
+        return axis.getDisplayPosition(axis.toRealValue(value));
+    }
+
+    double position(long value) {
+        if (nonLinearAxis != null) return nonLinearAxis.displayPosition(value);
+        return anchor + (value - reference) * factor;
+    }
+
+    double position(double value) {
+        if (nonLinearAxis != null) return nonLinearAxis.displayPosition((long) value);
+        return anchor + (value - reference) * factor;
+    }
+}
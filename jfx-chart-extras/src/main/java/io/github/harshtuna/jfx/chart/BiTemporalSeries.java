@@ -0,0 +1,348 @@
+/*
+ * BiTemporalSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Rectangles of valid time x transaction time, e.g. versions of facts valid from-to and recorded from-to, as long
+ * offsets of a valid time (x) axis and a transaction time (y) axis. Bounds are inclusive, Long.MIN_VALUE and
+ * Long.MAX_VALUE stand for open ends.
+ * <p>
+ * Rectangles are indexed by a packed R-tree, sort-tile-recursive, with all the nodes in flat primitive arrays, so
+ * that a viewport query visits O(log n + k) nodes for k intersecting rectangles. The series is immutable, rectangles
+ * are reordered into tree order - {@link #sourceIndex} maps them back.
+ *
+ * @see TemporalRectangleChart
+ */
+public final class BiTemporalSeries {
+    static final int NODE_SIZE = 16;
+
+    private final String name;
+    private final int size;
+    // rectangles in tree order
+    private final long[] validFrom;
+    private final long[] validTo;
+    private final long[] recordedFrom;
+    private final long[] recordedTo;
+    private final int[] sourceIndex;
+    // node bounds of all levels, leaves first; children of node i of a level are nodes i * NODE_SIZE ... of the level
+    // below, or rectangles for the leaves
+    private final long[] nodeMinX;
+    private final long[] nodeMaxX;
+    private final long[] nodeMinY;
+    private final long[] nodeMaxY;
+    private final int[] levelOffsets;
+    // extremes of the from and to columns leaving out open ends, for auto-ranging
+    private long finiteMinValid = Long.MAX_VALUE;
+    private long finiteMaxValid = Long.MIN_VALUE;
+    private long finiteMinRecorded = Long.MAX_VALUE;
+    private long finiteMaxRecorded = Long.MIN_VALUE;
+
+    private BiTemporalSeries(String name, long[] validFrom, long[] validTo, long[] recordedFrom, long[] recordedTo) {
+        this.name = name;
+        size = validFrom.length;
+        this.validFrom = new long[size];
+        this.validTo = new long[size];
+        this.recordedFrom = new long[size];
+        this.recordedTo = new long[size];
+        sourceIndex = tileOrder(validFrom, validTo, recordedFrom, recordedTo);
+        for (int i = 0; i < size; i++) {
+            final int source = sourceIndex[i];
+            this.validFrom[i] = validFrom[source];
+            this.validTo[i] = validTo[source];
+            this.recordedFrom[i] = recordedFrom[source];
+            this.recordedTo[i] = recordedTo[source];
+            finiteValid(validFrom[source]);
+            finiteValid(validTo[source]);
+            finiteRecorded(recordedFrom[source]);
+            finiteRecorded(recordedTo[source]);
+        }
+        // level sizes, leaves first, up to a single root
+        int nodes = 0;
+        int levels = 0;
+        for (int n = size; n > 1 || levels == 0; levels++) {
+            n = (n + NODE_SIZE - 1) / NODE_SIZE;
+            nodes += n;
+        }
+        levelOffsets = new int[levels + 1];
+        nodeMinX = new long[nodes];
+        nodeMaxX = new long[nodes];
+        nodeMinY = new long[nodes];
+        nodeMaxY = new long[nodes];
+        int childCount = size;
+        for (int level = 0; level < levels; level++) {
+            final int offset = levelOffsets[level];
+            final int count = (childCount + NODE_SIZE - 1) / NODE_SIZE;
+            levelOffsets[level + 1] = offset + count;
+            for (int node = 0; node < count; node++) {
+                long minX = Long.MAX_VALUE, maxX = Long.MIN_VALUE, minY = Long.MAX_VALUE, maxY = Long.MIN_VALUE;
+                for (int child = node * NODE_SIZE, end = Math.min(child + NODE_SIZE, childCount); child < end; child++) {
+                    if (level == 0) {
+                        minX = Math.min(minX, this.validFrom[child]);
+                        maxX = Math.max(maxX, this.validTo[child]);
+                        minY = Math.min(minY, this.recordedFrom[child]);
+                        maxY = Math.max(maxY, this.recordedTo[child]);
+                    } else {
+                        final int c = levelOffsets[level - 1] + child;
+                        minX = Math.min(minX, nodeMinX[c]);
+                        maxX = Math.max(maxX, nodeMaxX[c]);
+                        minY = Math.min(minY, nodeMinY[c]);
+                        maxY = Math.max(maxY, nodeMaxY[c]);
+                    }
+                }
+                nodeMinX[offset + node] = minX;
+                nodeMaxX[offset + node] = maxX;
+                nodeMinY[offset + node] = minY;
+                nodeMaxY[offset + node] = maxY;
+            }
+            childCount = count;
+        }
+    }
+
+    private void finiteValid(long value) {
+        if (isOpenEnd(value)) return;
+        finiteMinValid = Math.min(finiteMinValid, value);
+        finiteMaxValid = Math.max(finiteMaxValid, value);
+    }
+
+    private void finiteRecorded(long value) {
+        if (isOpenEnd(value)) return;
+        finiteMinRecorded = Math.min(finiteMinRecorded, value);
+        finiteMaxRecorded = Math.max(finiteMaxRecorded, value);
+    }
+
+    private static boolean isOpenEnd(long value) {
+        return value == Long.MIN_VALUE || value == Long.MAX_VALUE;
+    }
+
+    /**
+     * Indexes the rectangles, arrays are copied
+     *
+     * @throws IllegalArgumentException if column lengths differ or a rectangle ends before it starts
+     */
+    public static BiTemporalSeries of(String name, long[] validFrom, long[] validTo, long[] recordedFrom,
+                                      long[] recordedTo) {
+        final int n = validFrom.length;
+        if (validTo.length != n || recordedFrom.length != n || recordedTo.length != n)
+            throw new IllegalArgumentException("Column lengths differ: validFrom=" + n + ", validTo=" + validTo.length
+                    + ", recordedFrom=" + recordedFrom.length + ", recordedTo=" + recordedTo.length);
+        for (int i = 0; i < n; i++) {
+            if (validTo[i] < validFrom[i] || recordedTo[i] < recordedFrom[i])
+                throw new IllegalArgumentException("Rectangle " + i + " ends before it starts");
+        }
+        return new BiTemporalSeries(name, validFrom, validTo, recordedFrom, recordedTo);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long validFrom(int index) {
+        return validFrom[index];
+    }
+
+    public long validTo(int index) {
+        return validTo[index];
+    }
+
+    public long recordedFrom(int index) {
+        return recordedFrom[index];
+    }
+
+    public long recordedTo(int index) {
+        return recordedTo[index];
+    }
+
+    /**
+     * @return index of the rectangle in the columns the series was created from
+     */
+    public int sourceIndex(int index) {
+        return sourceIndex[index];
+    }
+
+    /**
+     * @return extremes of all the rectangles, the bounds of the root node
+     */
+    public long minValid() {
+        return size == 0 ? Long.MAX_VALUE : nodeMinX[nodeMinX.length - 1];
+    }
+
+    public long maxValid() {
+        return size == 0 ? Long.MIN_VALUE : nodeMaxX[nodeMaxX.length - 1];
+    }
+
+    public long minRecorded() {
+        return size == 0 ? Long.MAX_VALUE : nodeMinY[nodeMinY.length - 1];
+    }
+
+    public long maxRecorded() {
+        return size == 0 ? Long.MIN_VALUE : nodeMaxY[nodeMaxY.length - 1];
+    }
+
+    /**
+     * @return smallest valid from or to that is not an open end, Long.MAX_VALUE if there is none
+     */
+    public long finiteMinValid() {
+        return finiteMinValid;
+    }
+
+    /**
+     * @return largest valid from or to that is not an open end, Long.MIN_VALUE if there is none
+     */
+    public long finiteMaxValid() {
+        return finiteMaxValid;
+    }
+
+    /**
+     * @return smallest recorded from or to that is not an open end, Long.MAX_VALUE if there is none
+     */
+    public long finiteMinRecorded() {
+        return finiteMinRecorded;
+    }
+
+    /**
+     * @return largest recorded from or to that is not an open end, Long.MIN_VALUE if there is none
+     */
+    public long finiteMaxRecorded() {
+        return finiteMaxRecorded;
+    }
+
+    /**
+     * Passes indexes of the rectangles intersecting the window, bounds inclusive, to the consumer
+     *
+     * @return number of rectangles found
+     */
+    public int query(long minValid, long maxValid, long minRecorded, long maxRecorded, IntConsumer consumer) {
+        if (size == 0) return 0;
+        int found = 0;
+        // depth first, at most NODE_SIZE - 1 siblings pending per level
+        final int levels = levelOffsets.length - 1;
+        final int[] stack = new int[levels * NODE_SIZE + 1];
+        final int[] stackLevel = new int[stack.length];
+        int top = 0;
+        stack[top] = 0;
+        stackLevel[top++] = levels - 1;
+        while (top > 0) {
+            final int node = stack[--top];
+            final int level = stackLevel[top];
+            final int at = levelOffsets[level] + node;
+            if (nodeMaxX[at] < minValid || nodeMinX[at] > maxValid
+                    || nodeMaxY[at] < minRecorded || nodeMinY[at] > maxRecorded) continue;
+            final int childCount = level == 0 ? size : levelOffsets[level] - levelOffsets[level - 1];
+            final int end = Math.min((node + 1) * NODE_SIZE, childCount);
+            for (int child = node * NODE_SIZE; child < end; child++) {
+                if (level > 0) {
+                    stack[top] = child;
+                    stackLevel[top++] = level - 1;
+                } else if (validTo[child] >= minValid && validFrom[child] <= maxValid
+                        && recordedTo[child] >= minRecorded && recordedFrom[child] <= maxRecorded) {
+                    consumer.accept(child);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    // -------------- PACKING ------------------------------------------------------------------------------------------
+
+    /**
+     * Sort-tile-recursive order: sorted by x centre into vertical slices of about sqrt(n / NODE_SIZE) leaves each,
+     * then by y centre within each slice
+     *
+     * @return source indexes in tree order
+     */
+    private static int[] tileOrder(long[] validFrom, long[] validTo, long[] recordedFrom, long[] recordedTo) {
+        final int n = validFrom.length;
+        final int[] order = new int[n];
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            keys[i] = centre(validFrom[i], validTo[i]);
+        }
+        sort(keys, order, 0, n);
+        final int leaves = (n + NODE_SIZE - 1) / NODE_SIZE;
+        final int sliceSize = (int) Math.ceil(Math.sqrt(leaves)) * NODE_SIZE;
+        for (int from = 0; from < n; from += sliceSize) {
+            final int to = Math.min(from + sliceSize, n);
+            for (int i = from; i < to; i++) {
+                keys[i] = centre(recordedFrom[order[i]], recordedTo[order[i]]);
+            }
+            sort(keys, order, from, to);
+        }
+        return order;
+    }
+
+    private static long centre(long from, long to) {
+        return (from >> 1) + (to >> 1) + (from & to & 1);
+    }
+
+    /**
+     * Sorts [from, to) of the keys, moving the values along - three way quicksort, so that runs of equal keys
+     * (e.g. open ends) do not degrade it
+     */
+    private static void sort(long[] keys, int[] values, int from, int to) {
+        while (to - from > 16) {
+            final long pivot = median(keys[from], keys[(from + to) >>> 1], keys[to - 1]);
+            int lt = from;
+            int gt = to - 1;
+            int i = from;
+            while (i <= gt) {
+                if (keys[i] < pivot) {
+                    swap(keys, values, lt++, i++);
+                } else if (keys[i] > pivot) {
+                    swap(keys, values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            // recurse into the smaller part, loop over the larger one
+            if (lt - from < to - gt - 1) {
+                sort(keys, values, from, lt);
+                from = gt + 1;
+            } else {
+                sort(keys, values, gt + 1, to);
+                to = lt;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && keys[j - 1] > keys[j]; j--) {
+                swap(keys, values, j - 1, j);
+            }
+        }
+    }
+
+    private static long median(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(long[] keys, int[] values, int i, int j) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * BusinessTimeAxis.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * {@link LocalDateTimeAxis} showing only the time within the sessions of a {@link SessionCalendar}, nights, weekends
+ * and holidays take no space. Values stay wall-clock offsets from the base, only display positions are compressed.
+ * Positions are mapped through a prefix-sum index of the sessions, in O(log n) both ways. Tick marks are placed at
+ * session starts, at multiples of the tick unit within sessions and at the upper bound.
+ * <p>
+ * Auto-ranging is not business-aware: the tick unit is chosen for the wall-clock range as on a
+ * {@link LocalDateTimeAxis}, so a compressed axis may get more ticks than its labels have room for - overlapping
+ * labels are then culled.
+ */
+public class BusinessTimeAxis extends LocalDateTimeAxis {
+    private final SessionIndex sessions;
+    private final TickBuffer scratch = new TickBuffer(256);
+    // business time of the bounds and the display scale of business time, recalculated when bounds or scale change
+    private long cachedLowerBound = 1;
+    private long cachedUpperBound = 0;
+    private double cachedScale = Double.NaN;
+    private long businessLowerBound;
+    private double businessScale;
+
+    public BusinessTimeAxis(LocalDateTime base, TemporalUnit unit, SessionCalendar calendar) {
+        super(base, unit);
+        sessions = index(calendar);
+    }
+
+    public BusinessTimeAxis(LocalDateTime lowerBound, LocalDateTime upperBound, long tickUnit, TemporalUnit unit,
+                            SessionCalendar calendar) {
+        super(lowerBound, upperBound, tickUnit, unit);
+        sessions = index(calendar);
+    }
+
+    private SessionIndex index(SessionCalendar calendar) {
+        final long[] starts = new long[calendar.size()];
+        final long[] ends = new long[calendar.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = toLong(calendar.getStart(i));
+            ends[i] = toLong(calendar.getEnd(i));
+        }
+        return new SessionIndex(starts, ends);
+    }
+
+    /**
+     * @return true if the value is within a session
+     */
+    public boolean isInSession(long value) {
+        return sessions.contains(value);
+    }
+
+    @Override
+    public double displayPosition(long value) {
+        updateBusinessScale();
+        final double position = lowerBoundPosition()
+                + (sessions.toBusiness(value) - businessLowerBound) * businessScale;
+        return isInversed() ? offset - position : position;
+    }
+
+    @Override
+    public Long getValueForDisplay(double displayPosition) {
+        updateBusinessScale();
+        final double position = isInversed() ? offset - displayPosition : displayPosition;
+        return sessions.toValue(businessLowerBound + (long) ((position - lowerBoundPosition()) / businessScale));
+    }
+
+    /**
+     * Ticks depend on the sessions
+     */
+    @Override
+    Object tickKey() {
+        return sessions;
+    }
+
+    @Override
+    boolean isLinear() {
+        return false;
+    }
+
+    /**
+     * The axis length spans the business time between the bounds
+     */
+    private void updateBusinessScale() {
+        final long lowerBound = lowerBoundExact();
+        final long upperBound = upperBoundExact();
+        final double scale = getScale();
+        if (lowerBound == cachedLowerBound && upperBound == cachedUpperBound && scale == cachedScale) return;
+        cachedLowerBound = lowerBound;
+        cachedUpperBound = upperBound;
+        cachedScale = scale;
+        businessLowerBound = sessions.toBusiness(lowerBound);
+        final long businessRange = sessions.toBusiness(upperBound) - businessLowerBound;
+        businessScale = businessRange > 0 ? scale * (upperBound - lowerBound) / businessRange : scale;
+    }
+
+    /**
+     * Tick marks at session starts, multiples of the tick unit within sessions and the upper bound
+     */
+    @Override
+    protected void calculateTickValues(Range r, TickBuffer tickValues) {
+        final long tickUnit = r.tickUnit();
+        if (tickUnit <= 0 || sessions.size() == 0) {
+            super.calculateTickValues(r, tickValues);
+            return;
+        }
+        if ((r.upperBound() - r.lowerBound()) / tickUnit > 2000) {
+            // at most one session start and one multiple of the tick unit per unit of the range
+            warnTickLimit("Warning we tried to create more than 2000 major tick marks on a BusinessTimeAxis. " +
+                    "Lower Bound=" + r.lowerBound() + ", Upper Bound=" + r.upperBound() + ", Tick Unit=" + tickUnit);
+            return;
+        }
+        // bucket of the last tick, a session start only gets a tick if it opens a new tick unit bucket
+        long lastBucket = Long.MIN_VALUE;
+        for (int i = sessions.sessionAfter(r.lowerBound()); i < sessions.size(); i++) {
+            final long start = sessions.start(i);
+            if (start > r.upperBound()) break;
+            final long end = Math.min(sessions.end(i), r.upperBound());
+            long tick = Math.max(start, r.lowerBound());
+            if (tick == start && Math.floorDiv(start, tickUnit) != lastBucket) {
+                tickValues.add(tick);
+                lastBucket = Math.floorDiv(start, tickUnit);
+            }
+            tick = -Math.floorDiv(-(tick + (tick == start ? 1 : 0)), tickUnit) * tickUnit;
+            for (; tick < end; tick += tickUnit) {
+                tickValues.add(tick);
+                lastBucket = Math.floorDiv(tick, tickUnit);
+            }
+        }
+        // the end of the axis, same as evenly spaced ticks
+        if (tickValues.size() == 0 || tickValues.get(tickValues.size() - 1) < r.upperBound()) {
+            tickValues.add(r.upperBound());
+        }
+    }
+
+    /**
+     * Minor tick marks within sessions only
+     */
+    @Override
+    protected void calculateMinorTickMarks(TickBuffer minorTickValues) {
+        scratch.clear();
+        super.calculateMinorTickMarks(scratch);
+        for (int i = 0; i < scratch.size(); i++) {
+            final long value = scratch.get(i);
+            if (sessions.size() == 0 || sessions.contains(value)) minorTickValues.add(value);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * CalendarTickUnits.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User friendly tick units - 1/2/5/10/15/30 seconds, minutes, hours, days, weeks, months, years - expressed in a
+ * given {@link TemporalUnit}. Month and year steps are rounded to whole units for fixed length axis units.
+ */
+final class CalendarTickUnits {
+    private static final long[] SUB_SECOND_STEPS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+    private static final long[] SECOND_STEPS = {1, 2, 5, 10, 15, 30};
+    private static final long[] HOUR_STEPS = {1, 2, 3, 6, 12};
+    private static final long[] DAY_STEPS = {1, 2};
+    private static final long[] MONTH_STEPS = {1, 2, 3, 6};
+    private static final long[] MANTISSAS = {1, 2, 5};
+
+    private static final Map<TemporalUnit, long[]> CACHE = new ConcurrentHashMap<>();
+
+    private CalendarTickUnits() {
+    }
+
+    /**
+     * @return ascending tick units (at least 1) in the given axis unit
+     */
+    static long[] of(TemporalUnit unit) {
+        return CACHE.computeIfAbsent(unit, CalendarTickUnits::build);
+    }
+
+    private static long[] build(TemporalUnit unit) {
+        final Steps steps = new Steps(unit);
+        steps.add(ChronoUnit.NANOS, SUB_SECOND_STEPS);
+        steps.add(ChronoUnit.MICROS, SUB_SECOND_STEPS);
+        steps.add(ChronoUnit.MILLIS, SUB_SECOND_STEPS);
+        steps.add(ChronoUnit.SECONDS, SECOND_STEPS);
+        steps.add(ChronoUnit.MINUTES, SECOND_STEPS);
+        steps.add(ChronoUnit.HOURS, HOUR_STEPS);
+        steps.add(ChronoUnit.DAYS, DAY_STEPS);
+        steps.add(ChronoUnit.WEEKS, DAY_STEPS);
+        steps.add(ChronoUnit.MONTHS, MONTH_STEPS);
+        // 1, 2, 5, 10, 20, 50... years for as long as they fit into a long
+        BigInteger decade = BigInteger.ONE;
+        while (decade.bitLength() < Long.SIZE && steps.add(ChronoUnit.YEARS, decade, MANTISSAS)) {
+            decade = decade.multiply(BigInteger.TEN);
+        }
+        return steps.toArray();
+    }
+
+    private static final class Steps {
+        private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+        private final TemporalUnit unit;
+        private final BigInteger unitNanos;
+        private long[] values = new long[64];
+        private int size = 0;
+
+        Steps(TemporalUnit unit) {
+            this.unit = unit;
+            this.unitNanos = nanos(unit.getDuration());
+        }
+
+        void add(TemporalUnit stepUnit, long[] amounts) {
+            add(stepUnit, BigInteger.ONE, amounts);
+        }
+
+        /**
+         * @return false if the step overflows the axis unit range
+         */
+        boolean add(TemporalUnit stepUnit, BigInteger multiplier, long[] amounts) {
+            for (long amount : amounts) {
+                final BigInteger stepNanos = nanos(stepUnit.getDuration()).multiply(multiplier)
+                        .multiply(BigInteger.valueOf(amount));
+                if (stepNanos.compareTo(unitNanos) < 0) continue;
+                final BigInteger[] qr = stepNanos.divideAndRemainder(unitNanos);
+                if (qr[1].signum() != 0 && !stepUnit.isDurationEstimated() && !unit.isDurationEstimated())
+                    continue; // not a whole number of axis units
+                final BigInteger rounded = qr[1].shiftLeft(1).compareTo(unitNanos) >= 0 ? qr[0].add(BigInteger.ONE) : qr[0];
+                if (rounded.compareTo(LONG_MAX) > 0) return false;
+                append(rounded.longValue());
+            }
+            return true;
+        }
+
+        private void append(long value) {
+            if (size > 0 && values[size - 1] >= value) return;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return size == 0 ? new long[]{1} : Arrays.copyOf(values, size);
+        }
+
+        private static BigInteger nanos(Duration duration) {
+            return BigInteger.valueOf(duration.getSeconds()).multiply(BigInteger.valueOf(1_000_000_000L))
+                    .add(BigInteger.valueOf(duration.getNano()));
+        }
+    }
+}
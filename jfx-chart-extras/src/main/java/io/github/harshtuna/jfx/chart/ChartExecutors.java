@@ -0,0 +1,68 @@
+/*
+ * ChartExecutors.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for preparing chart data off the FX Application Thread.
+ * The shared background executor starts a virtual thread per task on JDK 21+, and falls back to a cached pool of
+ * daemon threads on older runtimes.
+ *
+ * @see DecimatedSeries#setExecutor
+ */
+public final class ChartExecutors {
+    private static volatile Executor background;
+
+    private ChartExecutors() {
+    }
+
+    /**
+     * @return shared executor for background data preparation, created on first use
+     */
+    public static Executor background() {
+        Executor executor = background;
+        if (executor == null) {
+            synchronized (ChartExecutors.class) {
+                executor = background;
+                if (executor == null) background = executor = createBackground();
+            }
+        }
+        return executor;
+    }
+
+    private static Executor createBackground() {
+        try {
+            // JDK 21+, looked up reflectively to keep Java 8 source
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r, "jfx-chart-background-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
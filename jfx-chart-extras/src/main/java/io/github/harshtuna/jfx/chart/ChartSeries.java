@@ -0,0 +1,83 @@
+/*
+ * ChartSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.collections.FXCollections;
+import javafx.scene.chart.XYChart;
+
+import java.util.Arrays;
+
+/**
+ * Builds {@link XYChart.Series} from primitive columns, e.g. produced by {@link TemporalAxis#toLongArray}.
+ * The data list is populated at once, so chart listeners see at most a single change.
+ */
+public final class ChartSeries {
+    private ChartSeries() {
+    }
+
+    public static XYChart.Series<Long, Number> series(String name, long[] x, double[] y) {
+        return new XYChart.Series<>(name, FXCollections.observableArrayList(data(x, y)));
+    }
+
+    /**
+     * Bi-temporal series, both columns are {@link TemporalAxis} values
+     */
+    public static XYChart.Series<Long, Long> series(String name, long[] x, long[] y) {
+        return new XYChart.Series<>(name, FXCollections.observableArrayList(data(x, y)));
+    }
+
+    /**
+     * Replaces series data with a single change event
+     */
+    public static void setAll(XYChart.Series<Long, Number> series, long[] x, double[] y) {
+        series.getData().setAll(Arrays.asList(data(x, y)));
+    }
+
+    /**
+     * Replaces bi-temporal series data with a single change event
+     */
+    public static void setAll(XYChart.Series<Long, Long> series, long[] x, long[] y) {
+        series.getData().setAll(Arrays.asList(data(x, y)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static XYChart.Data<Long, Number>[] data(long[] x, double[] y) {
+        checkLength(x.length, y.length);
+        final XYChart.Data<Long, Number>[] data = new XYChart.Data[x.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new XYChart.Data<>(x[i], y[i]);
+        }
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static XYChart.Data<Long, Long>[] data(long[] x, long[] y) {
+        checkLength(x.length, y.length);
+        final XYChart.Data<Long, Long>[] data = new XYChart.Data[x.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new XYChart.Data<>(x[i], y[i]);
+        }
+        return data;
+    }
+
+    private static void checkLength(int xLength, int yLength) {
+        if (xLength != yLength)
+            throw new IllegalArgumentException("Column lengths differ: x=" + xLength + ", y=" + yLength);
+    }
+}
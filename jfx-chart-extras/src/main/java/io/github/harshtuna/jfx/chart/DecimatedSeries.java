@@ -0,0 +1,274 @@
+/*
+ * DecimatedSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.scene.chart.XYChart;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Chart series fed from sorted x / y columns, decimated to the current viewport of a {@link TemporalAxis}.
+ * The series holds O(pixel width) points whatever the data size, and is recomputed when pan or zoom changes the
+ * axis range.
+ * <p>
+ * With an {@link #setExecutor executor} set, decimation runs off the FX Application Thread against a snapshot of the
+ * data and viewport, and the result is published with Platform.runLater. A job still queued when the viewport
+ * changes again is cancelled, a running one is left to finish and its result dropped.
+ * <p>
+ * The series listens to the axis until {@link #dispose disposed}.
+ */
+public class DecimatedSeries {
+    private static final int DEFAULT_PIXELS = 1024;
+
+    private final TemporalAxis<?> axis;
+    private final Decimator.Mode mode;
+    private final XYChart.Series<Long, Number> series = new XYChart.Series<>();
+    private final InvalidationListener viewportListener = observable -> requestUpdate();
+    private long[] x = new long[0];
+    private double[] y = new double[0];
+    private long[] decimatedX = new long[0];
+    private double[] decimatedY = new double[0];
+    private boolean updatePending = false;
+    private Executor executor;
+    private DecimationJob pendingJob;
+    // package-private for tests
+    Executor publisher = Platform::runLater;
+
+    /**
+     * @param name The series name
+     * @param axis The x axis of the chart the series is displayed on
+     * @param mode The decimation algorithm
+     */
+    public DecimatedSeries(String name, TemporalAxis<?> axis, Decimator.Mode mode) {
+        this.axis = axis;
+        this.mode = mode;
+        series.setName(name);
+        axis.lowerBoundProperty().addListener(viewportListener);
+        axis.upperBoundProperty().addListener(viewportListener);
+        axis.autoRangingProperty().addListener(viewportListener);
+        axis.widthProperty().addListener(viewportListener);
+        axis.heightProperty().addListener(viewportListener);
+    }
+
+    /**
+     * Stops following the axis and cancels a queued decimation, the series keeps its current points
+     */
+    public void dispose() {
+        axis.lowerBoundProperty().removeListener(viewportListener);
+        axis.upperBoundProperty().removeListener(viewportListener);
+        axis.autoRangingProperty().removeListener(viewportListener);
+        axis.widthProperty().removeListener(viewportListener);
+        axis.heightProperty().removeListener(viewportListener);
+        if (pendingJob != null) {
+            pendingJob.cancel(false);
+            pendingJob = null;
+        }
+    }
+
+    public XYChart.Series<Long, Number> getSeries() {
+        return series;
+    }
+
+    public Decimator.Mode getMode() {
+        return mode;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Runs decimation on the given executor, e.g. {@link ChartExecutors#background()}, or on the FX Application
+     * Thread if null
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Replaces the source data
+     *
+     * @param x Axis values, sorted ascending
+     * @param y Values for each x
+     */
+    public void setData(long[] x, double[] y) {
+        if (x.length != y.length)
+            throw new IllegalArgumentException("Column lengths differ: x=" + x.length + ", y=" + y.length);
+        this.x = x;
+        this.y = y;
+        update();
+    }
+
+    private void requestUpdate() {
+        // lower and upper bound usually change together, decimate once
+        if (!updatePending) {
+            updatePending = true;
+            Platform.runLater(this::update);
+        }
+    }
+
+    void update() {
+        updatePending = false;
+        if (pendingJob != null) {
+            // stale, the viewport or data changed since
+            pendingJob.cancel(false);
+            pendingJob = null;
+        }
+        if (x.length == 0) {
+            series.getData().clear();
+            return;
+        }
+        final long lowerBound;
+        final long upperBound;
+        final int from;
+        final int to;
+        if (axis.isAutoRanging()) {
+            // decimating to the visible range only would shrink the auto-range
+            lowerBound = x[0];
+            upperBound = x[x.length - 1];
+            from = 0;
+            to = x.length;
+        } else {
+            lowerBound = axis.lowerBoundExact();
+            upperBound = axis.upperBoundExact();
+            // one point beyond each bound keeps lines running to the plot edges
+            from = Math.max(0, SortedLongs.ceilingIndex(x, lowerBound) - 1);
+            to = Math.min(x.length, SortedLongs.ceilingIndex(x, upperBound) + 1);
+        }
+        final int pixels = pixels(lowerBound, upperBound);
+        final int capacity = Decimator.capacity(mode, pixels);
+        if (executor == null) {
+            if (decimatedX.length < capacity) {
+                decimatedX = new long[capacity];
+                decimatedY = new double[capacity];
+            }
+            publish(decimatedX, decimatedY, decimate(mode, x, y, from, to, lowerBound, upperBound, pixels, decimatedX,
+                    decimatedY));
+            return;
+        }
+        // the job only reads its snapshot, source columns are replaced rather than modified
+        final long[] snapshotX = x;
+        final double[] snapshotY = y;
+        final long[] jobX = new long[capacity];
+        final double[] jobY = new double[capacity];
+        pendingJob = new DecimationJob(() -> decimate(mode, snapshotX, snapshotY, from, to, lowerBound, upperBound,
+                pixels, jobX, jobY), jobX, jobY);
+        executor.execute(pendingJob);
+    }
+
+    /**
+     * @return true while a background job is queued or running
+     */
+    boolean isJobPending() {
+        return pendingJob != null;
+    }
+
+    /**
+     * @return number of points written to the decimated columns
+     */
+    private static int decimate(Decimator.Mode mode, long[] x, double[] y, int from, int to, long lowerBound,
+                                long upperBound, int pixels, long[] decimatedX, double[] decimatedY) {
+        return from < to
+                ? Decimator.decimate(mode, x, y, from, to, lowerBound, upperBound, pixels, decimatedX, decimatedY)
+                : 0;
+    }
+
+    /**
+     * Shows the first n decimated points. The Data objects are reused while the point count stays the same, e.g.
+     * when panning.
+     */
+    private void publish(long[] decimatedX, double[] decimatedY, int n) {
+        final List<XYChart.Data<Long, Number>> data = series.getData();
+        if (data.size() == n) {
+            for (int i = 0; i < n; i++) {
+                final XYChart.Data<Long, Number> point = data.get(i);
+                if (point.getXValue() != decimatedX[i]) point.setXValue(decimatedX[i]);
+                if (point.getYValue().doubleValue() != decimatedY[i]) point.setYValue(decimatedY[i]);
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        final XYChart.Data<Long, Number>[] points = new XYChart.Data[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new XYChart.Data<>(decimatedX[i], decimatedY[i]);
+        }
+        data.setAll(points);
+    }
+
+    /**
+     * @return width of the range in pixels, from the axis scale
+     */
+    private int pixels(long lowerBound, long upperBound) {
+        final double length = Math.abs((upperBound - lowerBound) * axis.getScale());
+        if (length >= 1 && length < Integer.MAX_VALUE / 8) return (int) Math.ceil(length);
+        final double axisLength = axis.getSide() != null && axis.getSide().isVertical() ? axis.getHeight() : axis.getWidth();
+        return axisLength >= 1 ? (int) Math.ceil(axisLength) : DEFAULT_PIXELS;
+    }
+
+    /**
+     * Decimation of a snapshot, published only while it is the latest job
+     */
+    private final class DecimationJob extends FutureTask<Integer> {
+        private final long[] decimatedX;
+        private final double[] decimatedY;
+
+        /**
+         * @param decimation Writes the points to the given columns and returns their count
+         */
+        DecimationJob(Callable<Integer> decimation, long[] decimatedX, double[] decimatedY) {
+            super(decimation);
+            this.decimatedX = decimatedX;
+            this.decimatedY = decimatedY;
+        }
+
+        /**
+         * Publishes the points, or the failure, on the FX Application Thread
+         */
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+            publisher.execute(() -> {
+                if (pendingJob != this) return;
+                pendingJob = null;
+                publish(decimatedX, decimatedY, result());
+            });
+        }
+
+        /**
+         * @throws IllegalStateException if decimation failed
+         */
+        private int result() {
+            try {
+                return get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Decimation failed", e.getCause());
+            } catch (InterruptedException e) {
+                // not thrown once done, get() does not wait
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Decimation interrupted", e);
+            }
+        }
+    }
+}
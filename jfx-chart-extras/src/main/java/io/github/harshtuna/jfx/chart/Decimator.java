@@ -0,0 +1,157 @@
+/*
+ * Decimator.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+/**
+ * Reduces sorted x/y columns to a number of points proportional to the number of pixels they are drawn on.
+ * All methods write into caller supplied arrays and return the number of points written.
+ */
+public final class Decimator {
+    public enum Mode {
+        /**
+         * Largest-Triangle-Three-Buckets - keeps the visual shape, at most the requested number of points
+         */
+        LTTB,
+        /**
+         * First, last, min and max point of every pixel column - exact envelope, at most 4 points per pixel
+         */
+        M4
+    }
+
+    private Decimator() {
+    }
+
+    /**
+     * @return max number of points written by {@link #decimate} for the given number of pixels
+     */
+    public static int capacity(Mode mode, int pixels) {
+        // M4 has an extra column on each side for points beyond the bounds
+        return mode == Mode.M4 ? 4 * (pixels + 2) : Math.max(pixels, 2);
+    }
+
+    /**
+     * Decimates points [from, to) visible between lower and upper bound to the given number of pixels
+     */
+    public static int decimate(Mode mode, long[] x, double[] y, int from, int to, long lowerBound, long upperBound,
+                               int pixels, long[] outX, double[] outY) {
+        return mode == Mode.M4
+                ? m4(x, y, from, to, lowerBound, upperBound, pixels, outX, outY)
+                : lttb(x, y, from, to, pixels, outX, outY);
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets downsampling of points [from, to) to at most threshold points.
+     * First and last points are always kept.
+     */
+    public static int lttb(long[] x, double[] y, int from, int to, int threshold, long[] outX, double[] outY) {
+        final int size = to - from;
+        if (size <= Math.max(threshold, 2)) return copy(x, y, from, to, outX, outY);
+        int n = 0;
+        outX[n] = x[from];
+        outY[n++] = y[from];
+        if (threshold < 3) return emit(x, y, to - 1, outX, outY, n);
+        // bucket size, first and last points are not in buckets
+        final double every = (double) (size - 2) / (threshold - 2);
+        int a = from;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket is the third point of the triangle
+            final int nextStart = from + 1 + (int) ((bucket + 1) * every);
+            final int nextEnd = Math.min(from + 1 + (int) ((bucket + 2) * every), to);
+            double avgX = 0;
+            double avgY = 0;
+            if (nextStart < nextEnd) {
+                for (int i = nextStart; i < nextEnd; i++) {
+                    avgX += x[i] - x[a];
+                    avgY += y[i];
+                }
+                avgX /= nextEnd - nextStart;
+                avgY /= nextEnd - nextStart;
+            } else {
+                avgX = x[to - 1] - x[a];
+                avgY = y[to - 1];
+            }
+            // the point of the current bucket making the largest triangle with the selected and average points
+            final int start = from + 1 + (int) (bucket * every);
+            final int end = Math.min(from + 1 + (int) ((bucket + 1) * every), to - 1);
+            double maxArea = -1;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                // x relative to the selected point keeps precision for large offsets
+                final double area = Math.abs((y[a] - avgY) * (x[i] - x[a]) - (y[a] - y[i]) * avgX);
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            outX[n] = x[selected];
+            outY[n++] = y[selected];
+            a = selected;
+        }
+        outX[n] = x[to - 1];
+        outY[n++] = y[to - 1];
+        return n;
+    }
+
+    /**
+     * M4 aggregation of points [from, to) into the given number of pixel columns between lower and upper bound.
+     * Points outside of the bounds fall into the first or last column.
+     */
+    public static int m4(long[] x, double[] y, int from, int to, long lowerBound, long upperBound, int pixels,
+                         long[] outX, double[] outY) {
+        if (to - from <= 4 * pixels || upperBound <= lowerBound) return copy(x, y, from, to, outX, outY);
+        final double pixelsPerUnit = (double) pixels / (upperBound - lowerBound);
+        int n = 0;
+        int i = from;
+        while (i < to) {
+            final long column = column(x[i], lowerBound, pixelsPerUnit, pixels);
+            final int first = i;
+            int min = i;
+            int max = i;
+            while (++i < to && column(x[i], lowerBound, pixelsPerUnit, pixels) == column) {
+                if (y[i] < y[min]) min = i;
+                if (y[i] > y[max]) max = i;
+            }
+            final int last = i - 1;
+            // emit in x order, without duplicates
+            n = emit(x, y, first, outX, outY, n);
+            final int lo = Math.min(min, max);
+            final int hi = Math.max(min, max);
+            if (lo != first && lo != last) n = emit(x, y, lo, outX, outY, n);
+            if (hi != lo && hi != last) n = emit(x, y, hi, outX, outY, n);
+            if (last != first) n = emit(x, y, last, outX, outY, n);
+        }
+        return n;
+    }
+
+    private static long column(long x, long lowerBound, double pixelsPerUnit, int pixels) {
+        return Math.max(-1, Math.min(pixels, (long) Math.floor((x - lowerBound) * pixelsPerUnit)));
+    }
+
+    private static int emit(long[] x, double[] y, int i, long[] outX, double[] outY, int n) {
+        outX[n] = x[i];
+        outY[n] = y[i];
+        return n + 1;
+    }
+
+    private static int copy(long[] x, double[] y, int from, int to, long[] outX, double[] outY) {
+        System.arraycopy(x, from, outX, 0, to - from);
+        System.arraycopy(y, from, outY, 0, to - from);
+        return to - from;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * FixedUnitConverter.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Plain integer conversion between epoch second/nano pairs and axis offsets in a fixed length unit (NANOS to DAYS).
+ * Offsets are truncated towards zero, same as {@link java.time.temporal.Temporal#until}.
+ */
+final class FixedUnitConverter {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long baseSecond;
+    private final int baseNano;
+    private final long unitNanos;
+    // exactly one of the two below is non-zero
+    private final long unitSeconds;
+    private final long unitsPerSecond;
+
+    private FixedUnitConverter(long baseSecond, int baseNano, long unitNanos) {
+        this.baseSecond = baseSecond;
+        this.baseNano = baseNano;
+        this.unitNanos = unitNanos;
+        this.unitSeconds = unitNanos % NANOS_PER_SECOND == 0 ? unitNanos / NANOS_PER_SECOND : 0;
+        this.unitsPerSecond = unitSeconds == 0 ? NANOS_PER_SECOND / unitNanos : 0;
+    }
+
+    /**
+     * @return converter for the given base and unit, or null if the unit has no fixed length
+     */
+    static FixedUnitConverter of(long baseSecond, int baseNano, TemporalUnit unit) {
+        return isFixed(unit) ? new FixedUnitConverter(baseSecond, baseNano, unit.getDuration().toNanos()) : null;
+    }
+
+    static boolean isFixed(TemporalUnit unit) {
+        return unit instanceof ChronoUnit && ((ChronoUnit) unit).compareTo(ChronoUnit.DAYS) <= 0;
+    }
+
+    long toOffset(long epochSecond, int nano) {
+        long seconds = epochSecond - baseSecond;
+        long nanos = nano - baseNano;
+        // make both parts of the same sign, so that truncation of the sum is truncation of the seconds part
+        if (seconds > 0 && nanos < 0) {
+            seconds--;
+            nanos += NANOS_PER_SECOND;
+        } else if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_PER_SECOND;
+        }
+        if (unitSeconds != 0) return seconds / unitSeconds;
+        return Math.addExact(Math.multiplyExact(seconds, unitsPerSecond), nanos / unitNanos);
+    }
+
+    long epochSecond(long offset) {
+        if (unitSeconds != 0) return Math.addExact(baseSecond, Math.multiplyExact(offset, unitSeconds));
+        final long seconds = baseSecond + Math.floorDiv(offset, unitsPerSecond);
+        return Math.floorMod(offset, unitsPerSecond) * unitNanos + baseNano >= NANOS_PER_SECOND ? seconds + 1 : seconds;
+    }
+
+    int nano(long offset) {
+        if (unitSeconds != 0) return baseNano;
+        return (int) ((Math.floorMod(offset, unitsPerSecond) * unitNanos + baseNano) % NANOS_PER_SECOND);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * InstantAxis.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.util.StringConverter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
+
+/**
+ * Axis of instants, with epoch time in the axis unit as values - e.g. epoch millis on a MILLIS axis.
+ * Data already held as epoch values is charted as is, without per point conversion.
+ * Units from NANOS to DAYS are supported.
+ */
+public class InstantAxis extends TemporalAxis<Instant> {
+    private final FixedUnitConverter converter = FixedUnitConverter.of(0, 0, getUnit());
+
+    /**
+     * Create an auto-ranging axis
+     */
+    public InstantAxis(TemporalUnit unit) {
+        super(Instant.EPOCH, checkUnit(unit));
+        defaultFormatter = new InstantFormatter(this);
+    }
+
+    /**
+     * Create a non-auto-ranging axis
+     *
+     * @param lowerBound Epoch time of the lower bound, in units
+     * @param upperBound Epoch time of the upper bound, in units
+     * @param tickUnit   The tick unit, ie space between tickmarks in units
+     */
+    public InstantAxis(long lowerBound, long upperBound, long tickUnit, TemporalUnit unit) {
+        super(Instant.EPOCH, lowerBound, upperBound, tickUnit, checkUnit(unit));
+        defaultFormatter = new InstantFormatter(this);
+    }
+
+    public InstantAxis(Instant lowerBound, Instant upperBound, long tickUnit, TemporalUnit unit) {
+        this(Instant.EPOCH.until(lowerBound, checkUnit(unit)), Instant.EPOCH.until(upperBound, unit), tickUnit, unit);
+    }
+
+    public InstantAxis(String axisLabel, Instant lowerBound, Instant upperBound, long tickUnit, TemporalUnit unit) {
+        this(lowerBound, upperBound, tickUnit, unit);
+        setLabel(axisLabel);
+    }
+
+    private static TemporalUnit checkUnit(TemporalUnit unit) {
+        if (!FixedUnitConverter.isFixed(unit)) throw new IllegalArgumentException("Unsupported unit: " + unit);
+        return unit;
+    }
+
+    @Override
+    public long toLong(Instant temporal) {
+        return converter.toOffset(temporal.getEpochSecond(), temporal.getNano());
+    }
+
+    @Override
+    Instant toTemporal(long val) {
+        return Instant.ofEpochSecond(converter.epochSecond(val), converter.nano(val));
+    }
+
+    /**
+     * ISO instants are parsed straight into the offset
+     */
+    @Override
+    public long parse(CharSequence text, int from, int to) {
+        if (defaultFormatter.getClass() != InstantFormatter.class || to <= from || text.charAt(to - 1) != 'Z')
+            return super.parse(text, from, to);
+        return converter.toOffset(IsoParser.epochSecond(text, from, to - 1), IsoParser.nanoOfDateTime(text, from, to - 1));
+    }
+
+    @Override
+    protected String getTickMarkLabel(Instant temporal) {
+        StringConverter<Instant> formatter = getTemporalLabelFormatter();
+        if (formatter == null) formatter = defaultFormatter;
+        return formatter.toString(temporal);
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    /**
+     * Default formatter for InstantAxis, ISO instants in UTC
+     */
+    public static class InstantFormatter extends DefaultFormatter<Instant> {
+        /**
+         * Construct a DefaultFormatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         */
+        public InstantFormatter(final InstantAxis axis) {
+            super(axis);
+        }
+
+        @Override
+        protected StringConverter<Instant> getFormatter() {
+            return new TemporalStringConverter<>(DateTimeFormatter.ISO_INSTANT, Instant::from);
+        }
+    }
+
+    /**
+     * Formatter adapting the label pattern to the current tick unit and range, as local time in the given zone.
+     * Zone offsets are cached between transitions. Labels are parsed as ISO instants, same as the default formatter.
+     * Install with {@link #setTemporalLabelFormatter}.
+     */
+    public static class AdaptiveInstantFormatter extends DefaultFormatter<Instant> {
+        private final ZoneOffsetCache offsets;
+        private TemporalLabelFormat format;
+
+        /**
+         * Construct an adaptive formatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         * @param zone Zone to show local times of
+         */
+        public AdaptiveInstantFormatter(final InstantAxis axis, ZoneId zone) {
+            super(axis);
+            offsets = new ZoneOffsetCache(zone);
+            updateFormat(axis);
+        }
+
+        @Override
+        protected StringConverter<Instant> getFormatter() {
+            return new TemporalStringConverter<>(DateTimeFormatter.ISO_INSTANT, Instant::from);
+        }
+
+        @Override
+        protected boolean updateFormat(TemporalAxis<Instant> axis) {
+            final LocalDateTime lower = local(axis.toTemporal(axis.lowerBoundExact()));
+            final LocalDateTime upper = local(axis.toTemporal(axis.upperBoundExact()));
+            final TemporalLabelFormat newFormat = TemporalLabelFormat.of(
+                    TemporalLabelFormat.precision(axis.getUnit(), axis.getTickUnit()),
+                    TemporalLabelFormat.context(lower.getYear(), lower.getDayOfYear(), upper.getYear(), upper.getDayOfYear()));
+            if (newFormat == format) return false;
+            format = newFormat;
+            return true;
+        }
+
+        @Override
+        protected Object formatKey() {
+            return Arrays.asList(getClass(), offsets.zone());
+        }
+
+        @Override
+        public String toString(Instant temporal) {
+            return format.format(local(temporal));
+        }
+
+        private LocalDateTime local(Instant instant) {
+            return offsets.localDateTime(instant.getEpochSecond(), instant.getNano());
+        }
+    }
+}
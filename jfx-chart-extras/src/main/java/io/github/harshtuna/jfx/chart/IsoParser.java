@@ -0,0 +1,159 @@
+/*
+ * IsoParser.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * Allocation free parsing of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE} and
+ * {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} text, straight into epoch days and axis offsets.
+ * Accepts the same text as the formatters in strict mode: optionally signed years beyond 4 digits, optional seconds
+ * and 1 to 9 fraction digits.
+ */
+final class IsoParser {
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_0000_TO_1970 = 719528;
+    private static final int[] FRACTION_SCALE = {
+            0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private IsoParser() {
+    }
+
+    /**
+     * @return epoch day of the date in text [from, to)
+     */
+    static long epochDay(CharSequence text, int from, int to) {
+        if (to - from < 10) throw error("date", text, from, to, from);
+        int i = from;
+        final char sign = text.charAt(i);
+        final boolean signed = sign == '+' || sign == '-';
+        if (signed) i++;
+        final int yearEnd = indexOf(text, '-', i, to);
+        final int yearDigits = yearEnd - i;
+        // years beyond 4 digits are signed, positive ones with 4 digits are not
+        if (yearDigits < 4 || yearDigits > 9 || (yearDigits > 4 ? !signed : sign == '+'))
+            throw error("year", text, from, to, i);
+        long year = digits(text, i, yearEnd, from, to);
+        if (sign == '-') {
+            if (year == 0) throw error("year", text, from, to, i);
+            year = -year;
+        }
+        if (yearEnd + 6 != to || text.charAt(yearEnd + 3) != '-') throw error("date", text, from, to, yearEnd);
+        final int month = (int) digits(text, yearEnd + 1, yearEnd + 3, from, to);
+        final int day = (int) digits(text, yearEnd + 4, to, from, to);
+        if (month < 1 || month > 12) throw error("month", text, from, to, yearEnd + 1);
+        if (day < 1 || day > lengthOfMonth(year, month)) throw error("day", text, from, to, yearEnd + 4);
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * @return epoch second of the UTC date time in text [from, to), nano of second is taken by
+     * {@link #nanoOfDateTime}
+     */
+    static long epochSecond(CharSequence text, int from, int to) {
+        final int t = indexOf(text, 'T', from, to);
+        if (t == to) throw error("date time", text, from, to, from);
+        final long epochDay = epochDay(text, from, t);
+        final int i = t + 1;
+        if (to - i < 5 || text.charAt(i + 2) != ':') throw error("time", text, from, to, i);
+        final int hour = (int) digits(text, i, i + 2, from, to);
+        final int minute = (int) digits(text, i + 3, i + 5, from, to);
+        int second = 0;
+        if (to > i + 5) {
+            if (to - i < 8 || text.charAt(i + 5) != ':') throw error("time", text, from, to, i + 5);
+            second = (int) digits(text, i + 6, i + 8, from, to);
+            if (to > i + 8) {
+                final int fractionDigits = to - i - 9;
+                if (text.charAt(i + 8) != '.' || fractionDigits < 1 || fractionDigits > 9)
+                    throw error("fraction", text, from, to, i + 8);
+                digits(text, i + 9, to, from, to);
+            }
+        }
+        if (hour > 23) throw error("hour", text, from, to, i);
+        if (minute > 59) throw error("minute", text, from, to, i + 3);
+        if (second > 59) throw error("second", text, from, to, i + 6);
+        return epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * @return nano of second of the date time in text [from, to), already validated by {@link #epochSecond}
+     */
+    static int nanoOfDateTime(CharSequence text, int from, int to) {
+        int i = to;
+        while (i > from && text.charAt(i - 1) != '.' && text.charAt(i - 1) != ':') i--;
+        if (i == from || text.charAt(i - 1) != '.') return 0;
+        return (int) digits(text, i, to, from, to) * FRACTION_SCALE[to - i];
+    }
+
+    private static long digits(CharSequence text, int start, int end, int from, int to) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) throw error("digit", text, from, to, i);
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int indexOf(CharSequence text, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return to;
+    }
+
+    private static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Same arithmetic as {@link java.time.LocalDate#toEpochDay}
+     */
+    private static long epochDay(long year, int month, int day) {
+        long total = 365 * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (lengthOfMonth(year, 2) == 28) total--;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static DateTimeParseException error(String field, CharSequence text, int from, int to, int index) {
+        return new DateTimeParseException("Invalid " + field + " in '" + text.subSequence(from, to) + "'",
+                text.subSequence(from, to), index - from);
+    }
+}
@@ -23,9 +23,14 @@ import javafx.util.converter.LocalDateStringConverter;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 
 public class LocalDateAxis extends TemporalAxis<LocalDate> {
+    private final long baseEpochDay = getBase().toEpochDay();
+    // epoch day arithmetic for DAYS and WEEKS, 0 for other units
+    private final long unitDays = getUnit() == ChronoUnit.DAYS ? 1 : getUnit() == ChronoUnit.WEEKS ? 7 : 0;
+
     public LocalDateAxis(LocalDate base, TemporalUnit unit) {
         super(base, unit);
         defaultFormatter = new LdFormatter(this);
@@ -41,6 +46,27 @@ public class LocalDateAxis extends TemporalAxis<LocalDate> {
         defaultFormatter = new LdFormatter(this);
     }
 
+    @Override
+    public long toLong(LocalDate temporal) {
+        if (unitDays == 0) return super.toLong(temporal);
+        return (temporal.toEpochDay() - baseEpochDay) / unitDays;
+    }
+
+    /**
+     * ISO text is parsed straight into the offset for DAYS and WEEKS
+     */
+    @Override
+    public long parse(CharSequence text, int from, int to) {
+        if (unitDays == 0 || defaultFormatter.getClass() != LdFormatter.class) return super.parse(text, from, to);
+        return (IsoParser.epochDay(text, from, to) - baseEpochDay) / unitDays;
+    }
+
+    @Override
+    LocalDate toTemporal(long val) {
+        if (unitDays == 0) return super.toTemporal(val);
+        return LocalDate.ofEpochDay(Math.addExact(baseEpochDay, Math.multiplyExact(val, unitDays)));
+    }
+
     @Override
     protected String getTickMarkLabel(LocalDate temporal) {
         StringConverter<LocalDate> formatter = getTemporalLabelFormatter();
@@ -72,4 +98,47 @@ public class LocalDateAxis extends TemporalAxis<LocalDate> {
             );
         }
     }
+
+    /**
+     * Formatter adapting the label pattern to the tick unit and range of the axis, see {@link TemporalLabelFormat}.
+     * Install with {@link #setTemporalLabelFormatter}.
+     */
+    public static class AdaptiveLdFormatter extends DefaultFormatter<LocalDate> {
+        private TemporalLabelFormat format;
+
+        /**
+         * Construct an adaptive formatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         */
+        public AdaptiveLdFormatter(final LocalDateAxis axis) {
+            super(axis);
+            updateFormat(axis);
+        }
+
+        @Override
+        protected StringConverter<LocalDate> getFormatter() {
+            return new LocalDateStringConverter(
+                    DateTimeFormatter.ISO_LOCAL_DATE,
+                    DateTimeFormatter.ISO_LOCAL_DATE
+            );
+        }
+
+        @Override
+        protected boolean updateFormat(TemporalAxis<LocalDate> axis) {
+            final LocalDate lower = axis.toTemporal(axis.lowerBoundExact());
+            final LocalDate upper = axis.toTemporal(axis.upperBoundExact());
+            final TemporalLabelFormat newFormat = TemporalLabelFormat.of(
+                    Math.max(TemporalLabelFormat.DAYS, TemporalLabelFormat.precision(axis.getUnit(), axis.getTickUnit())),
+                    TemporalLabelFormat.context(lower.getYear(), lower.getDayOfYear(), upper.getYear(), upper.getDayOfYear()));
+            if (newFormat == format) return false;
+            format = newFormat;
+            return true;
+        }
+
+        @Override
+        public String toString(LocalDate temporal) {
+            return format.format(temporal.getYear(), temporal.getMonthValue(), temporal.getDayOfMonth(), 0, 0, 0, 0);
+        }
+    }
 }
@@ -22,10 +22,15 @@ import javafx.util.StringConverter;
 import javafx.util.converter.LocalDateTimeStringConverter;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalUnit;
 
 public class LocalDateTimeAxis extends TemporalAxis<LocalDateTime> {
+    // epoch arithmetic for NANOS to DAYS, null for calendar units
+    private final FixedUnitConverter converter =
+            FixedUnitConverter.of(getBase().toEpochSecond(ZoneOffset.UTC), getBase().getNano(), getUnit());
+
     public LocalDateTimeAxis(LocalDateTime base, TemporalUnit unit) {
         super(base, unit);
         defaultFormatter = new LdtFormatter(this);
@@ -41,6 +46,27 @@ public class LocalDateTimeAxis extends TemporalAxis<LocalDateTime> {
         defaultFormatter = new LdtFormatter(this);
     }
 
+    @Override
+    public long toLong(LocalDateTime temporal) {
+        if (converter == null) return super.toLong(temporal);
+        return converter.toOffset(temporal.toEpochSecond(ZoneOffset.UTC), temporal.getNano());
+    }
+
+    /**
+     * ISO text is parsed straight into the offset for fixed length units
+     */
+    @Override
+    public long parse(CharSequence text, int from, int to) {
+        if (converter == null || defaultFormatter.getClass() != LdtFormatter.class) return super.parse(text, from, to);
+        return converter.toOffset(IsoParser.epochSecond(text, from, to), IsoParser.nanoOfDateTime(text, from, to));
+    }
+
+    @Override
+    LocalDateTime toTemporal(long val) {
+        if (converter == null) return super.toTemporal(val);
+        return LocalDateTime.ofEpochSecond(converter.epochSecond(val), converter.nano(val), ZoneOffset.UTC);
+    }
+
     @Override
     protected String getTickMarkLabel(LocalDateTime temporal) {
         StringConverter<LocalDateTime> formatter = getTemporalLabelFormatter();
@@ -71,4 +97,47 @@ public class LocalDateTimeAxis extends TemporalAxis<LocalDateTime> {
                     DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         }
     }
+
+    /**
+     * Formatter adapting the label pattern to the tick unit and range of the axis, see {@link TemporalLabelFormat}.
+     * Install with {@link #setTemporalLabelFormatter}.
+     */
+    public static class AdaptiveLdtFormatter extends DefaultFormatter<LocalDateTime> {
+        private TemporalLabelFormat format;
+
+        /**
+         * Construct an adaptive formatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         */
+        public AdaptiveLdtFormatter(final LocalDateTimeAxis axis) {
+            super(axis);
+            updateFormat(axis);
+        }
+
+        @Override
+        protected StringConverter<LocalDateTime> getFormatter() {
+            return new LocalDateTimeStringConverter(
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+
+        @Override
+        protected boolean updateFormat(TemporalAxis<LocalDateTime> axis) {
+            final LocalDateTime lower = axis.toTemporal(axis.lowerBoundExact());
+            final LocalDateTime upper = axis.toTemporal(axis.upperBoundExact());
+            final TemporalLabelFormat newFormat = TemporalLabelFormat.of(
+                    TemporalLabelFormat.precision(axis.getUnit(), axis.getTickUnit()),
+                    TemporalLabelFormat.context(lower.getYear(), lower.getDayOfYear(), upper.getYear(), upper.getDayOfYear()));
+            if (newFormat == format) return false;
+            format = newFormat;
+            return true;
+        }
+
+        @Override
+        public String toString(LocalDateTime temporal) {
+            return format.format(temporal.getYear(), temporal.getMonthValue(), temporal.getDayOfMonth(),
+                    temporal.getHour(), temporal.getMinute(), temporal.getSecond(), temporal.getNano());
+        }
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * MappedTemporalSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * {@link TemporalSeries} read in place from a file written by {@link TemporalSeriesFile}.
+ * Opening reads the header only, the columns are memory-mapped segment by segment when first accessed, so only the
+ * pages of the points actually drawn are ever read, whatever the file size. Values are read from the mapped
+ * buffers directly, without copies.
+ * <p>
+ * Mapped segments stay valid until garbage collected, {@link #close()} only releases the file channel.
+ */
+public final class MappedTemporalSeries extends TemporalSeries implements Closeable {
+    // 16M values per mapped segment, values never straddle segments
+    static final int SEGMENT_SHIFT = 24;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final TemporalSeriesFile.Header header;
+    private final ByteBuffer[] xSegments;
+    private final ByteBuffer[] ySegments;
+    private final int size;
+
+    private MappedTemporalSeries(String name, FileChannel channel, TemporalSeriesFile.Header header) {
+        super(name);
+        this.channel = channel;
+        this.header = header;
+        if (header.count > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many points: " + header.count);
+        size = (int) header.count;
+        final int segments = (int) ((header.count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        xSegments = new ByteBuffer[segments];
+        ySegments = new ByteBuffer[segments];
+    }
+
+    /**
+     * Opens the series, reading the header only
+     *
+     * @throws IllegalArgumentException if the file is not a series file
+     */
+    public static MappedTemporalSeries open(Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final TemporalSeriesFile.Header header = TemporalSeriesFile.Header.read(channel);
+            return new MappedTemporalSeries(String.valueOf(path.getFileName()), channel, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return base of the axis the x values were converted with
+     */
+    public Temporal getBase() {
+        return header.base();
+    }
+
+    /**
+     * @return unit of the axis the x values were converted with
+     */
+    public TemporalUnit getUnit() {
+        return ChronoUnit.valueOf(header.unit);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long x(int index) {
+        return xSegment(index).getLong((index & SEGMENT_MASK) << 3);
+    }
+
+    @Override
+    public double y(int index) {
+        final ByteBuffer segment = ySegment(index);
+        final int offset = (index & SEGMENT_MASK) << 3;
+        return header.longValued ? segment.getLong(offset) : segment.getDouble(offset);
+    }
+
+    @Override
+    public long yLong(int index) {
+        final ByteBuffer segment = ySegment(index);
+        final int offset = (index & SEGMENT_MASK) << 3;
+        return header.longValued ? segment.getLong(offset) : (long) segment.getDouble(offset);
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return header.longValued;
+    }
+
+    @Override
+    public double minY() {
+        return header.longValued ? header.minY : Double.longBitsToDouble(header.minY);
+    }
+
+    @Override
+    public double maxY() {
+        return header.longValued ? header.maxY : Double.longBitsToDouble(header.maxY);
+    }
+
+    @Override
+    public long minYLong() {
+        return header.longValued ? header.minY : super.minYLong();
+    }
+
+    @Override
+    public long maxYLong() {
+        return header.longValued ? header.maxY : super.maxYLong();
+    }
+
+    @Override
+    public int copy(int from, int to, long[] x, double[] y) {
+        int i = from;
+        while (i < to) {
+            final int offset = i & SEGMENT_MASK;
+            final int n = Math.min(SEGMENT_MASK + 1 - offset, to - i);
+            slice(xSegment(i), offset).asLongBuffer().get(x, i - from, n);
+            if (header.longValued) {
+                final ByteBuffer segment = ySegment(i);
+                for (int j = 0; j < n; j++) {
+                    y[i - from + j] = segment.getLong((offset + j) << 3);
+                }
+            } else {
+                slice(ySegment(i), offset).asDoubleBuffer().get(y, i - from, n);
+            }
+            i += n;
+        }
+        return to - from;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer xSegment(int index) {
+        final int segment = index >>> SEGMENT_SHIFT;
+        final ByteBuffer buffer = xSegments[segment];
+        return buffer != null ? buffer : (xSegments[segment] = map(header.dataOffset, segment));
+    }
+
+    private ByteBuffer ySegment(int index) {
+        final int segment = index >>> SEGMENT_SHIFT;
+        final ByteBuffer buffer = ySegments[segment];
+        return buffer != null ? buffer : (ySegments[segment] = map(header.dataOffset + header.count * 8, segment));
+    }
+
+    private ByteBuffer map(long columnOffset, int segment) {
+        final long first = (long) segment << SEGMENT_SHIFT;
+        final long count = Math.min(SEGMENT_MASK + 1, header.count - first);
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, columnOffset + first * 8, count * 8)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map segment " + segment + " of " + getName(), e);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer segment, int offset) {
+        final ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(offset << 3);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SessionCalendar.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sorted, non-overlapping trading sessions, e.g. weekdays 09:30 to 16:00 except holidays.
+ * Time outside the sessions is skipped by {@link BusinessTimeAxis}.
+ */
+public final class SessionCalendar {
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+
+    private SessionCalendar(LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public LocalDateTime getStart(int index) {
+        return starts[index];
+    }
+
+    public LocalDateTime getEnd(int index) {
+        return ends[index];
+    }
+
+    @Override
+    public String toString() {
+        return "SessionCalendar{size=" + starts.length + (starts.length > 0 ? ", from=" + starts[0]
+                + ", to=" + ends[ends.length - 1] : "") + '}';
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    public static final class Builder {
+        private final List<LocalDateTime[]> sessions = new ArrayList<>();
+        private final Set<LocalDate> holidays = new HashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a session every given day of week between the dates, both inclusive. Sessions closing at or before
+         * the open time close on the next day.
+         */
+        public Builder weekly(LocalDate from, LocalDate to, LocalTime open, LocalTime close, DayOfWeek... days) {
+            final Set<DayOfWeek> daySet = days.length > 0 ? EnumSet.copyOf(Arrays.asList(days)) : EnumSet.noneOf(DayOfWeek.class);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!daySet.contains(date.getDayOfWeek())) continue;
+                final LocalDateTime start = date.atTime(open);
+                session(start, close.isAfter(open) ? date.atTime(close) : date.plusDays(1).atTime(close));
+            }
+            return this;
+        }
+
+        /**
+         * Adds a session, e.g. a half day
+         */
+        public Builder session(LocalDateTime start, LocalDateTime end) {
+            if (!end.isAfter(start)) throw new IllegalArgumentException("Empty session: " + start + " - " + end);
+            sessions.add(new LocalDateTime[]{start, end});
+            return this;
+        }
+
+        /**
+         * Drops the sessions starting on the date
+         */
+        public Builder holiday(LocalDate date) {
+            holidays.add(date);
+            return this;
+        }
+
+        /**
+         * @return calendar of the sessions sorted, overlapping and adjacent ones merged
+         */
+        public SessionCalendar build() {
+            final List<LocalDateTime[]> sorted = new ArrayList<>(sessions.size());
+            for (LocalDateTime[] session : sessions) {
+                if (!holidays.contains(session[0].toLocalDate())) sorted.add(session);
+            }
+            sorted.sort((a, b) -> a[0].compareTo(b[0]));
+            final List<LocalDateTime> starts = new ArrayList<>(sorted.size());
+            final List<LocalDateTime> ends = new ArrayList<>(sorted.size());
+            for (LocalDateTime[] session : sorted) {
+                final int last = ends.size() - 1;
+                if (last >= 0 && !session[0].isAfter(ends.get(last))) {
+                    if (session[1].isAfter(ends.get(last))) ends.set(last, session[1]);
+                } else {
+                    starts.add(session[0]);
+                    ends.add(session[1]);
+                }
+            }
+            return new SessionCalendar(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0]));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SessionIndex.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.util.Arrays;
+
+/**
+ * Sessions in axis values with prefix sums of their lengths, mapping wall-clock axis values to business time -
+ * time elapsed within sessions - and back by binary search.
+ * Values in a gap between sessions map to the end of the previous session, values beyond the first or the last
+ * session are extrapolated linearly.
+ */
+final class SessionIndex {
+    private final long[] starts;
+    private final long[] ends;
+    // business time at the start of each session
+    private final long[] businessStarts;
+
+    SessionIndex(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        businessStarts = new long[starts.length];
+        for (int i = 1; i < starts.length; i++) {
+            businessStarts[i] = businessStarts[i - 1] + ends[i - 1] - starts[i - 1];
+        }
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    long start(int index) {
+        return starts[index];
+    }
+
+    long end(int index) {
+        return ends[index];
+    }
+
+    long toBusiness(long value) {
+        if (starts.length == 0) return value;
+        final int i = floorIndex(starts, value);
+        if (i < 0) return value - starts[0];
+        if (value < ends[i] || i == starts.length - 1) return businessStarts[i] + value - starts[i];
+        return businessStarts[i] + ends[i] - starts[i];
+    }
+
+    long toValue(long business) {
+        if (starts.length == 0) return business;
+        final int i = floorIndex(businessStarts, business);
+        if (i < 0) return starts[0] + business;
+        return starts[i] + business - businessStarts[i];
+    }
+
+    /**
+     * @return true if the value is within a session
+     */
+    boolean contains(long value) {
+        final int i = floorIndex(starts, value);
+        return i >= 0 && value < ends[i];
+    }
+
+    /**
+     * @return index of the first session ending after the value, or size if there is none
+     */
+    int sessionAfter(long value) {
+        return value == Long.MAX_VALUE ? ends.length : SortedLongs.ceilingIndex(ends, value + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SessionIndex)) return false;
+        final SessionIndex other = (SessionIndex) o;
+        return Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    /**
+     * @return index of the last element not greater than the key, or -1 if there is none
+     */
+    private static int floorIndex(long[] sorted, long key) {
+        return key == Long.MAX_VALUE ? sorted.length - 1 : SortedLongs.ceilingIndex(sorted, key + 1) - 1;
+    }
+}
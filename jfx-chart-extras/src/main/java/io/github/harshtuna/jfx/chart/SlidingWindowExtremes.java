@@ -0,0 +1,127 @@
+/*
+ * SlidingWindowExtremes.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+/**
+ * Min and max of the values appended within a trailing window of keys.
+ * Keys are expected in non-decreasing order. Monotonic deques make each append amortized O(1).
+ */
+final class SlidingWindowExtremes {
+    private final Deque minDeque = new Deque();
+    private final Deque maxDeque = new Deque();
+    private long window;
+
+    SlidingWindowExtremes(long window) {
+        this.window = window;
+    }
+
+    void setWindow(long window) {
+        this.window = window;
+    }
+
+    void add(long key, long value) {
+        while (!minDeque.isEmpty() && minDeque.lastValue() >= value) minDeque.removeLast();
+        minDeque.addLast(key, value);
+        while (!maxDeque.isEmpty() && maxDeque.lastValue() <= value) maxDeque.removeLast();
+        maxDeque.addLast(key, value);
+        final long cutoff = key - window;
+        while (minDeque.firstKey() < cutoff) minDeque.removeFirst();
+        while (maxDeque.firstKey() < cutoff) maxDeque.removeFirst();
+    }
+
+    boolean isEmpty() {
+        return minDeque.isEmpty();
+    }
+
+    long min() {
+        return minDeque.firstValue();
+    }
+
+    long max() {
+        return maxDeque.firstValue();
+    }
+
+    void clear() {
+        minDeque.clear();
+        maxDeque.clear();
+    }
+
+    /**
+     * Growable ring buffer of key/value pairs
+     */
+    private static final class Deque {
+        private long[] keys = new long[16];
+        private long[] values = new long[16];
+        private int head = 0;
+        private int size = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long firstKey() {
+            return keys[head];
+        }
+
+        long firstValue() {
+            return values[head];
+        }
+
+        long lastValue() {
+            return values[index(size - 1)];
+        }
+
+        void addLast(long key, long value) {
+            if (size == keys.length) grow();
+            final int i = index(size++);
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        void removeFirst() {
+            head = index(1);
+            size--;
+        }
+
+        void removeLast() {
+            size--;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private int index(int offset) {
+            return (head + offset) & (keys.length - 1);
+        }
+
+        private void grow() {
+            final long[] k = new long[keys.length * 2];
+            final long[] v = new long[values.length * 2];
+            for (int i = 0; i < size; i++) {
+                k[i] = keys[index(i)];
+                v[i] = values[index(i)];
+            }
+            keys = k;
+            values = v;
+            head = 0;
+        }
+    }
+}
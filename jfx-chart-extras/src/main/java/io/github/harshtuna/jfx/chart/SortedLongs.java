@@ -0,0 +1,54 @@
+/*
+ * SortedLongs.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Binary search over ascending long values, shared by the series and axis code
+ */
+final class SortedLongs {
+    private SortedLongs() {
+    }
+
+    /**
+     * @return index of the first element not less than the key, or array length if there is none
+     */
+    static int ceilingIndex(long[] sorted, long key) {
+        return ceilingIndex(i -> sorted[i], sorted.length, key);
+    }
+
+    /**
+     * @param values ascending values by index
+     * @return index of the first value not less than the key, or size if there is none
+     */
+    static int ceilingIndex(IntToLongFunction values, int size, long key) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (values.applyAsLong(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
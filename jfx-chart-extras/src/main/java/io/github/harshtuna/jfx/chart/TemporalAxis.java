@@ -20,9 +20,12 @@ package io.github.harshtuna.jfx.chart;
 
 import com.sun.javafx.charts.ChartLayoutAnimator;
 import com.sun.javafx.css.converters.SizeConverter;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.LongProperty;
+import javafx.beans.property.LongPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.value.WritableValue;
@@ -30,7 +33,6 @@ import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.css.StyleableLongProperty;
 import javafx.css.StyleableProperty;
-import javafx.geometry.Bounds;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Side;
 import javafx.scene.chart.ValueAxis;
@@ -38,13 +40,19 @@ import javafx.scene.text.Text;
 import javafx.util.Duration;
 import javafx.util.StringConverter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalUnit;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * An axis for {@link Temporal} data.
@@ -55,15 +63,55 @@ import java.util.List;
  */
 public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
 // todo - a lot of code was borrowed as is from ValueAxis and NumberAxis
+    private static final int MAX_TICK_COUNT = 20;
+    private static final int MAX_AUTO_RANGE_ITERATIONS = 32;
+    // bulk conversions of more values than this are split into fork/join chunks
+    static final int BULK_CHUNK_SIZE = 1 << 14;
+    static final int PARSE_CHUNK_CHARS = 1 << 20;
+    private static final long RANGE_ANIMATION_MILLIS = 700;
+    // animations shorter than this are skipped, the range is set at once
+    private static final long MIN_RANGE_ANIMATION_MILLIS = 50;
+    // doubles represent every long up to this magnitude exactly
+    private static final double MAX_EXACT_DOUBLE = 1L << 53;
+    // hack to override JFX hardcoded mark label behavior, resolved once for all the axes
+    private static final MethodHandle TEXT_NODE = textNodeGetter();
+
     private final T base;
     private final TemporalUnit unit;
     private Object currentAnimationID;
     private final ChartLayoutAnimator animator = new ChartLayoutAnimator(this);
+    private final WritableScale writableScale = new WritableScale();
+    private final RangeAnimationTimer rangeAnimationTimer = new RangeAnimationTimer();
     protected DefaultFormatter<T> defaultFormatter;
     private boolean inversed = false;
     double offset = 0;
-    // hack to override JFX hardcoded mark label behavior
-    private Field textNodeField = unlockedTextNodeField();
+    private final TickLabelCache ownLabelCache = new TickLabelCache(TickLabelCache.DEFAULT_CAPACITY);
+    // the group cache while the axis is a member of a group
+    private TickLabelCache labelCache = ownLabelCache;
+    private TemporalAxisGroup group;
+    private final TickBuffer tickValues = new TickBuffer(32);
+    private final TickBuffer minorTickValues = new TickBuffer(256);
+    private final SlidingWindowExtremes followWindow = new SlidingWindowExtremes(0);
+    // bounds and data extremes as exact longs, the double properties of ValueAxis lose precision beyond 2^53
+    private long exactLowerBound;
+    private long exactUpperBound;
+    private Long exactLowerBoundValue = 0L;
+    private long exactDataMin = Long.MAX_VALUE;
+    private long exactDataMax = Long.MIN_VALUE;
+    // data of the last invalidateRange, scanned for the exact extremes when those are needed, null once scanned
+    private List<Long> rangeData;
+    // reused by getRange(), follow() and autoRange(), so that layout passes and appends allocate no ranges
+    private final Range currentRange = new Range(0, 0, 0, 0);
+    private final Range autoRangeResult = new Range(0, 0, 0, 0);
+    // keys of the tick values in the buffers, layout passes with nothing changed reuse them
+    private final Range tickMemoRange = new Range(0, 0, 0, Double.NaN);
+    private double tickMemoLength = Double.NaN;
+    private long minorMemoLowerBound;
+    private long minorMemoUpperBound;
+    private long minorMemoTickUnit;
+    private int minorMemoCount = -1;
+    // null unless metrics are wanted, every hook checks for null first
+    private TemporalAxisListener metricsListener;
 
     // -------------- PUBLIC PROPERTIES --------------------------------------------------------------------------------
 
@@ -115,6 +163,8 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
             new ObjectPropertyBase<StringConverter<T>>(null) {
                 @Override
                 protected void invalidated() {
+                    updateFormats();
+                    labelStyleChanged();
                     invalidateRange();
                     requestAxisLayout();
                 }
@@ -142,6 +192,63 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         return temporalLabelFormatter;
     }
 
+    /**
+     * Trailing duration in axis units shown in follow mode, 0 to disable follow mode.
+     * Enabling follow mode switches auto-ranging off, so charts no longer rescan their data on appends - the range is
+     * then driven by {@link #follow(long, long)}. Disabling it restores auto-ranging as it was before.
+     */
+    private final LongProperty followDuration = new LongPropertyBase(0) {
+        private boolean following = false;
+        private boolean autoRangingBeforeFollow;
+
+        @Override
+        protected void invalidated() {
+            followWindow.clear();
+            followWindow.setWindow(get());
+            if (get() > 0) {
+                if (!following) autoRangingBeforeFollow = isAutoRanging();
+                following = true;
+                setAutoRanging(false);
+            } else if (following) {
+                following = false;
+                setAutoRanging(autoRangingBeforeFollow);
+            }
+        }
+
+        @Override
+        public Object getBean() {
+            return TemporalAxis.this;
+        }
+
+        @Override
+        public String getName() {
+            return "followDuration";
+        }
+    };
+
+    public final long getFollowDuration() {
+        return followDuration.get();
+    }
+
+    public final void setFollowDuration(long value) {
+        followDuration.set(value);
+    }
+
+    public final LongProperty followDurationProperty() {
+        return followDuration;
+    }
+
+    /**
+     * @param listener Receiver of cost metrics of this axis, e.g. a shared {@link TemporalAxisMetrics}; null to disable
+     */
+    public void setMetricsListener(TemporalAxisListener listener) {
+        metricsListener = listener;
+    }
+
+    public TemporalAxisListener getMetricsListener() {
+        return metricsListener;
+    }
+
     // -------------- CONSTRUCTORS -------------------------------------------------------------------------------------
 
     /**
@@ -151,6 +258,9 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         super();
         this.base = base;
         this.unit = unit;
+        listenLabelStyle();
+        trackExactBounds();
+        listenFormatRange();
     }
 
     /**
@@ -165,6 +275,10 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         this.base = lowerBound;
         this.unit = unit;
         setTickUnit(tickUnit);
+        listenLabelStyle();
+        trackExactBounds();
+        listenFormatRange();
+        exactUpperBound = lowerBound.until(upperBound, unit);
     }
 
     /**
@@ -180,11 +294,79 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         setLabel(axisLabel);
     }
 
+    /**
+     * Create a non-auto-ranging TemporalAxis with bounds given as axis values, for subclasses with a fixed base
+     *
+     * @param base       The temporal value of 0 on this axis
+     * @param lowerBound The lower bound for this axis, in units from the base
+     * @param upperBound The upper bound for this axis, in units from the base
+     * @param tickUnit   The tick unit, ie space between tickmarks in tempUnit-s
+     */
+    protected TemporalAxis(T base, long lowerBound, long upperBound, long tickUnit, TemporalUnit unit) {
+        super(lowerBound, upperBound);
+        this.base = base;
+        this.unit = unit;
+        setTickUnit(tickUnit);
+        listenLabelStyle();
+        trackExactBounds();
+        listenFormatRange();
+        setExactLowerBound(lowerBound);
+        exactUpperBound = upperBound;
+    }
+
+    /**
+     * Keeps the default and the installed formatter in step with tick unit and bounds. Formatters do not listen to the
+     * axis themselves, so a replaced formatter is not left attached.
+     */
+    private void listenFormatRange() {
+        final InvalidationListener rangeListener = observable -> updateFormats();
+        tickUnitProperty().addListener(rangeListener);
+        lowerBoundProperty().addListener(rangeListener);
+        upperBoundProperty().addListener(rangeListener);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateFormats() {
+        boolean changed = defaultFormatter != null && defaultFormatter.updateFormat(this);
+        final StringConverter<T> formatter = getTemporalLabelFormatter();
+        if (formatter instanceof DefaultFormatter && formatter != defaultFormatter) {
+            changed |= ((DefaultFormatter<T>) formatter).updateFormat(this);
+        }
+        if (changed) invalidateLabels();
+    }
+
+    private void listenLabelStyle() {
+        final InvalidationListener labelStyleListener = observable -> labelStyleChanged();
+        tickLabelFontProperty().addListener(labelStyleListener);
+        tickLabelRotationProperty().addListener(labelStyleListener);
+    }
+
+    /**
+     * Keeps exact bounds in sync with bounds set as doubles, e.g. from user code
+     */
+    private void trackExactBounds() {
+        setExactLowerBound((long) getLowerBound());
+        exactUpperBound = (long) getUpperBound();
+        lowerBoundProperty().addListener(observable -> {
+            if (exactLowerBound != getLowerBound()) setExactLowerBound((long) getLowerBound());
+        });
+        upperBoundProperty().addListener(observable -> {
+            if (exactUpperBound != getUpperBound()) exactUpperBound = (long) getUpperBound();
+        });
+    }
+
+    private void setExactLowerBound(long value) {
+        if (value != exactLowerBound) {
+            exactLowerBound = value;
+            exactLowerBoundValue = value;
+        }
+    }
+
     // -------------- PROTECTED METHODS --------------------------------------------------------------------------------
 
     @Override
     protected String getTickMarkLabel(Long value) {
-        return getTickMarkLabel(toTemporal(value));
+        return labelCache.label(this, value);
     }
 
     protected abstract String getTickMarkLabel(T temporal);
@@ -192,16 +374,11 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     /**
      * Called to get the current axis range.
      *
-     * @return A range object that can be passed to setRange() and calculateTickValues()
+     * @return A range object that can be passed to setRange() and calculateTickValues(), reused by the next call
      */
     @Override
     protected Range getRange() {
-        return new Range(
-                (long) getLowerBound(),
-                (long) getUpperBound(),
-                getTickUnit(),
-                getScale()
-        );
+        return currentRange.set(exactLowerBound, exactUpperBound, getTickUnit(), getScale());
     }
 
     /**
@@ -214,40 +391,86 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     @Override
     protected void setRange(Object range, boolean animate) {
         final Range r = (Range) range;
-        final long oldLowerBound = (long) getLowerBound();
-        setLowerBound(r.lowerBound());
-        setUpperBound(r.upperBound());
-        setTickUnit(r.tickUnit());
+        // read at once, bound listeners may reuse the range object
+        final long lowerBound = r.lowerBound();
+        final long upperBound = r.upperBound();
+        final long tickUnit = r.tickUnit();
+        final double scale = r.scale();
+        setExactLowerBound(lowerBound);
+        exactUpperBound = upperBound;
+        setLowerBound(lowerBound);
+        setUpperBound(upperBound);
+        setTickUnit(tickUnit);
         if (animate) {
-            animator.stop(currentAnimationID);
-            final WritableScale writableScale = new WritableScale();
-            currentAnimationID = animator.animate(
-                    new KeyFrame(Duration.ZERO,
-                            new KeyValue(currentLowerBound, oldLowerBound),
-                            new KeyValue(writableScale, getScale())
-                    ),
-                    new KeyFrame(Duration.millis(700),
-                            new KeyValue(currentLowerBound, r.lowerBound()),
-                            new KeyValue(writableScale, r.scale())
-                    )
-            );
+            rangeAnimationTimer.request(lowerBound, scale);
         } else {
-            currentLowerBound.set(r.lowerBound());
-            setScale(r.scale());
+            rangeAnimationTimer.cancel();
+            animator.stop(currentAnimationID);
+            currentLowerBound.set(lowerBound);
+            setScale(scale);
         }
     }
 
     /**
-     * Calculate a list of all the data values for each tick mark in range
+     * Animates displayed lower bound and scale from their current values to the given ones
+     */
+    private void animateRange(long lowerBound, double scale, long durationMillis) {
+        animator.stop(currentAnimationID);
+        if (durationMillis < MIN_RANGE_ANIMATION_MILLIS) {
+            currentLowerBound.set(lowerBound);
+            setScale(scale);
+            return;
+        }
+        if (metricsListener != null) metricsListener.rangeAnimationStarted(this, durationMillis);
+        currentAnimationID = animator.animate(
+                new KeyFrame(Duration.ZERO,
+                        new KeyValue(currentLowerBound, currentLowerBound.get()),
+                        new KeyValue(writableScale, getScale())
+                ),
+                new KeyFrame(Duration.millis(durationMillis),
+                        new KeyValue(currentLowerBound, lowerBound),
+                        new KeyValue(writableScale, scale)
+                )
+        );
+    }
+
+    /**
+     * Calculate a list of all the data values for each tick mark in range. The previous values are returned as is
+     * while the range and the length stay the same, e.g. on layout passes caused by hover or CSS.
      *
      * @param length The length of the axis in display units
      * @param range  A range object returned from autoRange()
-     * @return A list of tick marks that fit along the axis if it was the given length
+     * @return A list of tick marks that fit along the axis if it was the given length, backed by {@link #getTickValues()}
      */
     @Override
     protected List<Long> calculateTickValues(double length, Object range) {
         final Range r = (Range) range;
-        List<Long> tickValues = new ArrayList<>();
+        if (length == tickMemoLength && r.equals(tickMemoRange)) {
+            if (metricsListener != null) metricsListener.ticksMemoized(this);
+            return tickValues.asList();
+        }
+        tickValues.clear();
+        final boolean shared = group != null && group.tickValues(this, length, r, tickValues);
+        if (group == null) calculateTickValues(r, tickValues);
+        tickMemoRange.set(r.lowerBound(), r.upperBound(), r.tickUnit(), r.scale());
+        tickMemoLength = length;
+        if (metricsListener != null) {
+            if (shared) {
+                metricsListener.ticksMemoized(this);
+            } else {
+                metricsListener.ticksCalculated(this, tickValues.size());
+            }
+        }
+        return tickValues.asList();
+    }
+
+    /**
+     * Fill the buffer with the data values for each tick mark in range
+     *
+     * @param r          A range object returned from autoRange()
+     * @param tickValues The buffer to add tick values to
+     */
+    protected void calculateTickValues(Range r, TickBuffer tickValues) {
         if (r.lowerBound() == r.upperBound()) {
             tickValues.add(r.lowerBound());
         } else if (r.tickUnit() <= 0) {
@@ -256,7 +479,7 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         } else if (r.tickUnit() > 0) {
             if (((r.upperBound() - r.lowerBound()) / r.tickUnit()) > 2000) {
                 // This is a ridiculous amount of major tick marks, something has probably gone wrong
-                System.err.println("Warning we tried to create more than 2000 major tick marks on a TemporalAxis. " +
+                warnTickLimit("Warning we tried to create more than 2000 major tick marks on a TemporalAxis. " +
                         "Lower Bound=" + r.lowerBound() + ", Upper Bound=" + r.upperBound() + ", Tick Unit=" + r.tickUnit());
             } else {
                 if (r.lowerBound() + r.tickUnit() < r.upperBound()) {
@@ -267,40 +490,66 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
             }
             tickValues.add(r.upperBound());
         }
-        return tickValues;
     }
 
     /**
-     * Calculate a list of the data values for every minor tick mark
+     * Calculate a list of the data values for every minor tick mark. The previous values are returned as is while
+     * the bounds, the tick unit and the minor tick count stay the same.
      *
-     * @return List of data values where to draw minor tick marks
+     * @return List of data values where to draw minor tick marks, backed by {@link #getMinorTickValues()}
      */
     protected List<Long> calculateMinorTickMarks() {
-        final List<Long> minorTickMarks = new ArrayList<>();
-        final double lowerBound = getLowerBound();
-        final double upperBound = getUpperBound();
-        final double tickUnit = getTickUnit();
-        final double minorUnit = tickUnit / Math.max(1, getMinorTickCount());
+        if (exactLowerBound == minorMemoLowerBound && exactUpperBound == minorMemoUpperBound
+                && getTickUnit() == minorMemoTickUnit && getMinorTickCount() == minorMemoCount) {
+            if (metricsListener != null) metricsListener.ticksMemoized(this);
+            return minorTickValues.asList();
+        }
+        minorTickValues.clear();
+        calculateMinorTickMarks(minorTickValues);
+        minorMemoLowerBound = exactLowerBound;
+        minorMemoUpperBound = exactUpperBound;
+        minorMemoTickUnit = getTickUnit();
+        minorMemoCount = getMinorTickCount();
+        if (metricsListener != null) metricsListener.minorTicksCalculated(this, minorTickValues.size());
+        return minorTickValues.asList();
+    }
+
+    /**
+     * Fill the buffer with the data values for every minor tick mark
+     *
+     * @param minorTickValues The buffer to add minor tick values to
+     */
+    protected void calculateMinorTickMarks(TickBuffer minorTickValues) {
+        final long lowerBound = exactLowerBound;
+        final long upperBound = exactUpperBound;
+        final long tickUnit = getTickUnit();
+        final int minorTickCount = Math.max(1, getMinorTickCount());
         if (tickUnit > 0) {
-            if (((upperBound - lowerBound) / minorUnit) > 10000) {
+            if ((double) (upperBound - lowerBound) * minorTickCount / tickUnit > 10000) {
                 // This is a ridiculous amount of major tick marks, something has probably gone wrong
-                System.err.println("Warning we tried to create more than 10000 minor tick marks on a TemporalAxis. " +
-                        "Lower Bound=" + getLowerBound() + ", Upper Bound=" + getUpperBound() + ", Tick Unit=" + tickUnit);
-                return minorTickMarks;
+                warnTickLimit("Warning we tried to create more than 10000 minor tick marks on a TemporalAxis. " +
+                        "Lower Bound=" + lowerBound + ", Upper Bound=" + upperBound + ", Tick Unit=" + tickUnit);
+                return;
             }
-            for (double minor = Math.floor(lowerBound) + minorUnit; minor < Math.ceil(lowerBound); minor += minorUnit) {
-                if (minor > lowerBound) {
-                    minorTickMarks.add((long) minor);
-                }
-            }
-            for (double major = Math.ceil(lowerBound); major < upperBound; major += tickUnit) {
-                final double next = Math.min(major + tickUnit, upperBound);
-                for (double minor = major + minorUnit; minor < next; minor += minorUnit) {
-                    minorTickMarks.add((long) minor);
+            for (long major = lowerBound; major < upperBound; major += tickUnit) {
+                final long next = Math.min(major + tickUnit, upperBound);
+                long prev = major;
+                // exact integer positions, skipping duplicates when the tick unit is smaller than minor tick count
+                for (int i = 1; i < minorTickCount; i++) {
+                    final long minor = major + tickUnit * i / minorTickCount;
+                    if (minor >= next) break;
+                    if (minor > prev) {
+                        minorTickValues.add(minor);
+                        prev = minor;
+                    }
                 }
             }
         }
-        return minorTickMarks;
+    }
+
+    void warnTickLimit(String message) {
+        System.err.println(message);
+        if (metricsListener != null) metricsListener.tickLimitExceeded(this, message);
     }
 
     /**
@@ -315,59 +564,178 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     // todo - extend symmetrically maybe
     @Override
     protected Object autoRange(double minValue, double maxValue, double length, double labelSize) {
-        final long range = (long) (maxValue - minValue);
+        // data extremes of all the charts of a group
+        if (group != null && group.hasData()) return autoRange(group.dataMin(), group.dataMax(), length, labelSize);
+        // the data is only scanned for exact extremes if the doubles may have lost precision
+        if (Math.abs(minValue) < MAX_EXACT_DOUBLE && Math.abs(maxValue) < MAX_EXACT_DOUBLE) {
+            return autoRange((long) minValue, (long) maxValue, length, labelSize);
+        }
+        // exact data extremes, unless asked for another range
+        return autoRange(dataMin() == minValue ? exactDataMin : (long) minValue,
+                dataMax() == maxValue ? exactDataMax : (long) maxValue, length, labelSize);
+    }
+
+    private Range autoRange(long min, long max, double length, double labelSize) {
+        final long start = metricsListener != null ? System.nanoTime() : 0;
+        final long range = max - min;
         // pad min and max by 2%, checking if the range is zero
-        final long padding = (range < 100) ? 1 : (long) (range * 0.01);
+        final long padding = (range < 100) ? 1 : range / 100;
         final long paddedRange = range + padding * 2;
-        final long paddedMin = (long) minValue - padding;
-        final long paddedMax = (long) maxValue + padding;
+        final long paddedMin = min - padding;
+        final long paddedMax = max + padding;
         // calculate the number of tick-marks we can fit in the given length
         int numOfTickMarks = (int) Math.floor(length / labelSize);
         // can never have less than 2 tick marks one for each end
         numOfTickMarks = Math.max(numOfTickMarks, 2);
         // calculate tick unit for the number of ticks can have in the given data range
-        // search for the best tick unit that fits
-        double tickUnitRounded = Math.max(paddedRange / numOfTickMarks, 1);
-        double tickUnitPrev = 0;
-        long minRounded = 0;
-        long maxRounded = 0;
-        int count = 0;
-        double reqLength = Double.MAX_VALUE;
-        // loop till we find a set of ticks that fit length and result in a total of less than 20 tick marks
-        final Side side = getSide();
-        while (reqLength > length || count > 20) {
-//            System.out.println(minRounded + " " + maxRounded + " " + tickUnitRounded);
-            tickUnitPrev = tickUnitRounded;
-            // find a user friendly match from our default tick units to match calculated tick unit
-            // todo
-            // move min and max to nearest tick mark
-            minRounded = (long) (Math.floor(paddedMin / tickUnitRounded) * tickUnitRounded);
-            maxRounded = (long) (Math.ceil(paddedMax / tickUnitRounded) * tickUnitRounded);
-            // calculate the required length to display the chosen tick marks for real, this will handle if there are
-            // huge numbers involved etc or special formatting of the tick mark label text
-            double maxReqTickGap = 0;
-            count = 0;
-            for (long tick = minRounded; tick <= maxRounded; tick += tickUnitRounded, count++) {
-                final Dimension2D tickMarkArea = measureTickMarkSize(tick, getTickLabelRotation());
-                double size = side.isVertical() ? tickMarkArea.getHeight() : tickMarkArea.getWidth();
-                maxReqTickGap = (long) Math.max(maxReqTickGap, size + getTickLabelGap());
-            }
-            reqLength = (count - 1) * maxReqTickGap;
-            // check if we already found max tick unit
-            // todo
-            if (reqLength > length || count > 20) {
-                tickUnitRounded = (long) (tickUnitRounded * reqLength / length) + 1;
-                if (tickUnitRounded == tickUnitPrev) tickUnitRounded++;
+        final long estimatedTickUnit = Math.max(paddedRange / numOfTickMarks, 1);
+        // binary search the user friendly tick units for the smallest one that fits, starting from the estimate
+        final long[] tickUnits = CalendarTickUnits.of(unit);
+        int lo = Math.min(SortedLongs.ceilingIndex(tickUnits, estimatedTickUnit), tickUnits.length - 1);
+        int hi = Math.max(SortedLongs.ceilingIndex(tickUnits, paddedRange), lo);
+        hi = Math.min(hi, tickUnits.length - 1);
+        int iterations = 0;
+        for (; lo < hi && iterations < MAX_AUTO_RANGE_ITERATIONS; iterations++) {
+            final int mid = (lo + hi) >>> 1;
+            if (fits(tickUnits[mid], paddedMin, paddedMax, length)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
             }
         }
+        final long tickUnitRounded = tickUnits[hi];
+        // move min and max to nearest tick mark
+        final long minRounded = Math.floorDiv(paddedMin, tickUnitRounded) * tickUnitRounded;
+        final long maxRounded = -Math.floorDiv(-paddedMax, tickUnitRounded) * tickUnitRounded;
         // calculate new scale
         final double newScale = calculateNewScale(length, minRounded, maxRounded);
-        // return new range
-        return new Range(minRounded, maxRounded, (long) tickUnitRounded, newScale);
+        if (metricsListener != null) metricsListener.autoRanged(this, iterations, System.nanoTime() - start);
+        // return the reused range
+        return autoRangeResult.set(minRounded, maxRounded, tickUnitRounded, newScale);
+    }
+
+    /**
+     * Checks if tick marks of the given unit fit the axis length and result in a total of no more than
+     * {@link #MAX_TICK_COUNT} tick marks
+     */
+    private boolean fits(long tickUnit, long paddedMin, long paddedMax, double length) {
+        final long minRounded = Math.floorDiv(paddedMin, tickUnit) * tickUnit;
+        final long maxRounded = -Math.floorDiv(-paddedMax, tickUnit) * tickUnit;
+        final long count = (maxRounded - minRounded) / tickUnit + 1;
+        if (count > MAX_TICK_COUNT) return false;
+        // calculate the required length to display the chosen tick marks for real, this will handle if there are
+        // huge numbers involved etc or special formatting of the tick mark label text
+        final boolean vertical = getSide().isVertical();
+        final double rotation = getTickLabelRotation();
+        double maxReqTickGap = 0;
+        for (long tick = minRounded; tick <= maxRounded; tick += tickUnit) {
+            final Dimension2D tickMarkArea = measureTickMarkSize(tick, rotation);
+            final double size = vertical ? tickMarkArea.getHeight() : tickMarkArea.getWidth();
+            maxReqTickGap = Math.max(maxReqTickGap, size + getTickLabelGap());
+        }
+        return (count - 1) * maxReqTickGap <= length;
+    }
+
+    /**
+     * Appends a value in follow mode, where the value itself is the position in time - e.g. for the time axis of a
+     * live feed
+     *
+     * @param value The appended data value
+     * @see #follow(long, long)
+     */
+    public void follow(long value) {
+        follow(value, value);
+    }
+
+    /**
+     * Appends a value in follow mode. The axis range covers the extremes of values appended within the trailing
+     * {@link #followDurationProperty() follow duration} of the latest key, and is only recalculated when those
+     * extremes cross a tick mark. Does nothing if follow mode is disabled.
+     *
+     * @param key   Position in time of the value, in the units of the follow duration, non-decreasing
+     * @param value The appended data value
+     */
+    public void follow(long key, long value) {
+        if (getFollowDuration() <= 0) return;
+        followWindow.add(key, value);
+        final long min = followWindow.min();
+        final long max = followWindow.max();
+        long tickUnit = getTickUnit();
+        final long lowerBound = exactLowerBound;
+        final long upperBound = exactUpperBound;
+        if (tickUnit > 0 && lowerBound <= min && max <= upperBound && min < lowerBound + tickUnit) return;
+        // crossed a tick mark, move the range by whole ticks
+        long minRounded = tickUnit > 0 ? Math.floorDiv(min, tickUnit) * tickUnit : min;
+        long maxRounded = tickUnit > 0 ? -Math.floorDiv(-max, tickUnit) * tickUnit : max;
+        final double length = getSide() != null && getSide().isVertical() ? getHeight() : getWidth();
+        final long count = tickUnit > 0 ? (maxRounded - minRounded) / tickUnit + 1 : 0;
+        if (count < 2 || count > MAX_TICK_COUNT) {
+            // the window has grown or shrunk, find a new tick unit
+            if (length > 0) {
+                tickUnit = autoRange(min, max, length, getTickLabelFont().getSize() * 2).tickUnit();
+            } else {
+                final long[] tickUnits = CalendarTickUnits.of(unit);
+                final int index = SortedLongs.ceilingIndex(tickUnits, (max - min) / 10);
+                tickUnit = tickUnits[Math.min(index, tickUnits.length - 1)];
+            }
+            minRounded = Math.floorDiv(min, tickUnit) * tickUnit;
+            maxRounded = -Math.floorDiv(-max, tickUnit) * tickUnit;
+        }
+        if (minRounded == maxRounded) maxRounded += tickUnit;
+        setRange(currentRange.set(minRounded, maxRounded, tickUnit, calculateNewScale(length, minRounded, maxRounded)),
+                false);
     }
 
+    /**
+     * Measures the label of the given tick, served from the label cache when possible
+     */
     protected Dimension2D measureTickMarkSize(long tick, double rotation) {
-        return measureTickMarkLabelSize(getTickMarkLabel(tick), rotation);
+        return labelCache.size(this, tick, rotation);
+    }
+
+    /**
+     * Formatter, font or rotation changed - drops cached labels, or switches a group member to the cache of its new
+     * label style
+     */
+    void labelStyleChanged() {
+        if (group != null) {
+            labelCache = group.labelCache(this);
+        } else {
+            labelCache.clear();
+        }
+    }
+
+    /**
+     * @return what tick labels depend on besides tick value, font and rotation - group members with equal keys share
+     * labels. Formatters not extending DefaultFormatter are only equal to themselves.
+     */
+    Object labelFormatKey() {
+        final StringConverter<T> formatter = getTemporalLabelFormatter();
+        if (formatter == null) return defaultFormatter == null ? null : defaultFormatter.formatKey();
+        return formatter instanceof DefaultFormatter ? ((DefaultFormatter<?>) formatter).formatKey() : formatter;
+    }
+
+    /**
+     * @return what tick values depend on besides range and length, group members with equal keys share tick lists
+     */
+    Object tickKey() {
+        return null;
+    }
+
+    /**
+     * Drops cached labels, e.g. when the formatter changes its pattern
+     */
+    void invalidateLabels() {
+        labelCache.clear();
+    }
+
+    String formatTickMarkLabel(long tick) {
+        return getTickMarkLabel(toTemporal(tick));
+    }
+
+    Dimension2D measureLabel(String label, double rotation) {
+        if (metricsListener != null) metricsListener.tickLabelMeasured(this);
+        return measureTickMarkLabelSize(label, rotation);
     }
 
     void calculateNewScale(double length) {
@@ -381,55 +749,198 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     //todo - JavaFX pull request for axis direction cleanup and protected access
     @Override
     protected void layoutChildren() {
+        final long start = metricsListener != null ? System.nanoTime() : 0;
         final Side side = getSide();
         boolean isHorisontal = null == side || side.isHorizontal();
         this.offset = isHorisontal ? getWidth() : getHeight();
         super.layoutChildren();
-        if (inversed) {
-            double prevEnd = isHorisontal ? offset + getTickLabelGap() : -getTickLabelGap();
-            for (TickMark m : getTickMarks()) {
-                double position = m.getPosition();
-                try {
-                    final Text textNode = (Text) textNodeField.get(m);
-                    final Bounds bounds = textNode.getLayoutBounds();
-                    if (0 <= position && position <= offset)
-                        if (isHorisontal) {
-                            textNode.setVisible(position < prevEnd);
-                            prevEnd = position - (bounds.getWidth() + getTickLabelGap());
-                        } else {
-                            textNode.setVisible(position > prevEnd);
-                            prevEnd = position + (bounds.getHeight() + getTickLabelGap());
-                        }
-                } catch (IllegalAccessException ignored) {
-                }
+        if (isTickLabelsVisible()) cullOverlappingLabels(getTickMarks());
+        if (metricsListener != null) metricsListener.laidOut(this, System.nanoTime() - start);
+    }
+
+    /**
+     * Hides tick mark labels overlapping the previous visible label, in either axis direction.
+     * Uses label sizes from the label cache, so no text is measured here.
+     */
+    void cullOverlappingLabels(List<TickMark<Long>> tickMarks) {
+        final boolean vertical = getSide() != null && getSide().isVertical();
+        final double rotation = getTickLabelRotation();
+        final double gap = getTickLabelGap();
+        double prevPosition = Double.NaN;
+        double prevHalfExtent = 0;
+        for (int i = 0, size = tickMarks.size(); i < size; i++) {
+            final TickMark<Long> m = tickMarks.get(i);
+            final double position = m.getPosition();
+            if (position < 0 || position > offset) continue;
+            final Dimension2D labelSize = measureTickMarkSize((long) m.getValue(), rotation);
+            final double halfExtent = (vertical ? labelSize.getHeight() : labelSize.getWidth()) / 2;
+            final boolean visible = Double.isNaN(prevPosition)
+                    || Math.abs(position - prevPosition) >= prevHalfExtent + halfExtent + gap;
+            setLabelVisible(m, visible);
+            if (visible) {
+                prevPosition = position;
+                prevHalfExtent = halfExtent;
+            }
+        }
+    }
+
+    private static void setLabelVisible(TickMark<Long> m, boolean visible) {
+        m.setTextVisible(visible);
+        if (TEXT_NODE != null) {
+            // text node visibility is only synced from the tick mark on the next layout
+            try {
+                ((Text) TEXT_NODE.invokeExact(m)).setVisible(visible);
+            } catch (RuntimeException ignored) {
+                // e.g. no text node yet, the label follows the tick mark on the next layout
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                // a field getter throws nothing checked
+                throw new IllegalStateException(t);
             }
         }
     }
 
-    private Field unlockedTextNodeField() {
-        Field f = null;
+    private static MethodHandle textNodeGetter() {
         try {
-            f = TickMark.class.getDeclaredField("textNode");
+            final Field f = TickMark.class.getDeclaredField("textNode");
             f.setAccessible(true);
-        } catch (NoSuchFieldException ignored) {
+            return MethodHandles.lookup().unreflectGetter(f);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            return null;
         }
-        return f;
+    }
+
+    /**
+     * Keeps the data for exact extremes, the data is only scanned for those by auto-ranging beyond 2^53 or by a group
+     */
+    @Override
+    public void invalidateRange(List<Long> data) {
+        rangeData = data;
+        super.invalidateRange(data);
+        if (group != null) group.dataChanged(this);
+    }
+
+    private void scanRangeData() {
+        if (rangeData == null) return;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Long value : rangeData) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        exactDataMin = min;
+        exactDataMax = max;
+        rangeData = null;
+    }
+
+    // -------------- GROUP --------------------------------------------------------------------------------------------
+
+    void joinGroup(TemporalAxisGroup group) {
+        this.group = group;
+        labelCache = group.labelCache(this);
+        tickMemoLength = Double.NaN;
+    }
+
+    void leaveGroup() {
+        group = null;
+        labelCache = ownLabelCache;
+        labelCache.clear();
+        tickMemoLength = Double.NaN;
+    }
+
+    TemporalAxisGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * @return axis length of the last tick calculation, NaN if none since joining or leaving a group
+     */
+    double tickLength() {
+        return tickMemoLength;
+    }
+
+    /**
+     * @return smallest data value of the charts the axis is on, Long.MAX_VALUE if there is no data
+     */
+    long dataMin() {
+        scanRangeData();
+        return exactDataMin;
+    }
+
+    /**
+     * @return largest data value of the charts the axis is on, Long.MIN_VALUE if there is no data
+     */
+    long dataMax() {
+        scanRangeData();
+        return exactDataMax;
+    }
+
+    /**
+     * Sets exact bounds and tick unit, the scale follows on the next layout
+     */
+    void setBounds(long lowerBound, long upperBound, long tickUnit) {
+        setExactLowerBound(lowerBound);
+        exactUpperBound = upperBound;
+        setLowerBound(lowerBound);
+        setUpperBound(upperBound);
+        setTickUnit(tickUnit);
+    }
+
+    /**
+     * Recalculates the auto-range on the next layout, e.g. when data of another group member changed
+     */
+    void invalidateAutoRange() {
+        invalidateRange();
+        requestAxisLayout();
     }
 
     @Override
     public Long getValueForDisplay(double displayPosition) {
-        if (inversed)
-            return super.getValueForDisplay(offset - displayPosition);
-        else
-            return super.getValueForDisplay(displayPosition);
+        final double position = inversed ? offset - displayPosition : displayPosition;
+        return exactLowerBound + (long) ((position - lowerBoundPosition()) / getScale());
     }
 
     @Override
     public double getDisplayPosition(Long value) {
-        if (inversed)
-            return offset - super.getDisplayPosition(value);
-        else
-            return super.getDisplayPosition(value);
+        return displayPosition(value);
+    }
+
+    /**
+     * Display position of the value, without boxing. The offset from the lower bound is taken in exact long
+     * arithmetic, so that positions of values beyond 2^53 do not jitter.
+     */
+    public double displayPosition(long value) {
+        final double position = lowerBoundPosition() + (value - exactLowerBound) * getScale();
+        return inversed ? offset - position : position;
+    }
+
+    /**
+     * @return position of the lower bound before inversion, in case displayed lower bound differs (e.g. animated)
+     */
+    double lowerBoundPosition() {
+        return super.getDisplayPosition(exactLowerBoundValue);
+    }
+
+    /**
+     * @return true if display positions are linear in values, so that charts may map values by scale alone
+     */
+    boolean isLinear() {
+        return true;
+    }
+
+    /**
+     * @return lower bound in exact long units
+     */
+    long lowerBoundExact() {
+        return exactLowerBound;
+    }
+
+    /**
+     * @return upper bound in exact long units
+     */
+    long upperBoundExact() {
+        return exactUpperBound;
     }
 
     @Override
@@ -454,10 +965,65 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         requestAxisLayout();
     }
 
-    long parse(String string) {
-        return toLong(defaultFormatter.fromString(string));
+    /**
+     * Parses text in the default formatter format (ISO by default) into an axis value
+     */
+    public long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses text [from, to) in the default formatter format (ISO by default) into an axis value.
+     * Subclasses may parse ISO text straight into offsets, without intermediate objects.
+     */
+    public long parse(CharSequence text, int from, int to) {
+        return toLong(defaultFormatter.fromString(text.subSequence(from, to).toString()));
+    }
+
+    /**
+     * Parses the first comma separated field of each non-empty line, large texts are split by line and parsed in
+     * parallel
+     *
+     * @return axis values in line order
+     */
+    public long[] parseLines(CharSequence text) {
+        return parseLines(text, PARSE_CHUNK_CHARS);
+    }
+
+    long[] parseLines(CharSequence text, int chunkChars) {
+        // chunk boundaries at line starts
+        final int chunks = Math.max(1, text.length() / chunkChars);
+        final int[] starts = new int[chunks + 1];
+        for (int c = 1; c < chunks; c++) {
+            int i = Math.max(starts[c - 1], c * chunkChars);
+            while (i < text.length() && text.charAt(i - 1) != '\n') i++;
+            starts[c] = i;
+        }
+        starts[chunks] = text.length();
+        // count lines, then parse each chunk into its slice of the result
+        final int[] offsets = new int[chunks + 1];
+        final ParseLinesTask count = new ParseLinesTask(text, starts, offsets, null, 0, chunks);
+        if (chunks > 1) {
+            ForkJoinPool.commonPool().invoke(count);
+        } else {
+            count.compute();
+        }
+        for (int c = 0; c < chunks; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        final long[] values = new long[offsets[chunks]];
+        final ParseLinesTask parse = new ParseLinesTask(text, starts, offsets, values, 0, chunks);
+        if (chunks > 1) {
+            ForkJoinPool.commonPool().invoke(parse);
+        } else {
+            parse.compute();
+        }
+        return values;
     }
 
+    /**
+     * Generic conversion, subclasses may provide faster arithmetic for the units they support
+     */
     public long toLong(T temporal) {
         return base.until(temporal, unit);
     }
@@ -466,10 +1032,86 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
         return (T) base.plus(val, unit);
     }
 
+    /**
+     * Converts all the values in one pass, large arrays are converted in parallel
+     */
+    public long[] toLongArray(T[] temporals) {
+        return toLongArray(i -> temporals[i], temporals.length);
+    }
+
+    /**
+     * Converts all the values in one pass, large lists are converted in parallel
+     */
+    public long[] toLongArray(List<? extends T> temporals) {
+        if (temporals instanceof RandomAccess) return toLongArray(temporals::get, temporals.size());
+        final Object[] values = temporals.toArray();
+        return toLongArray(i -> (T) values[i], values.length);
+    }
+
+    /**
+     * Converts all the values in one pass, in parallel if the stream is parallel
+     */
+    public long[] toLongArray(Stream<? extends T> temporals) {
+        return temporals.mapToLong(this::toLong).toArray();
+    }
+
+    private long[] toLongArray(IntFunction<? extends T> source, int size) {
+        final long[] values = new long[size];
+        final ToLongTask task = new ToLongTask(source, values, 0, size);
+        if (size > BULK_CHUNK_SIZE) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+        return values;
+    }
+
     public boolean isInversed() {
         return inversed;
     }
 
+    /**
+     * @return temporal value corresponding to 0 on this axis
+     */
+    public final T getBase() {
+        return base;
+    }
+
+    /**
+     * @return temporal unit of 1 on this axis
+     */
+    public final TemporalUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return data values of the major tick marks calculated by the last layout pass
+     */
+    public TickBuffer getTickValues() {
+        return tickValues;
+    }
+
+    /**
+     * @return data values of the minor tick marks calculated by the last layout pass
+     */
+    public TickBuffer getMinorTickValues() {
+        return minorTickValues;
+    }
+
+    /**
+     * @return number of tick labels served from the label cache
+     */
+    public long getLabelCacheHits() {
+        return labelCache.hits();
+    }
+
+    /**
+     * @return number of tick labels formatted because they were not in the label cache
+     */
+    public long getLabelCacheMisses() {
+        return labelCache.misses();
+    }
+
     // -------------- INNER CLASSES ------------------------------------------------------------------------------------
 
     /**
@@ -485,17 +1127,28 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
          */
         public DefaultFormatter(final TemporalAxis<TF> axis) {
             formatter = getFormatter();
-//            final ChangeListener axisListener = new ChangeListener() {
-//                @Override
-//                public void changed(ObservableValue observable, Object oldValue, Object newValue) {
-//                    formatter = getFormatter();
-//                }
-//            };
-//            axis.autoRangingProperty().addListener(axisListener);
         }
 
         protected abstract StringConverter<TF> getFormatter();
 
+        /**
+         * Updates the format to the tick unit and bounds of the axis, called when those change.
+         *
+         * @param axis The axis to format tick marks for
+         * @return true if labels formatted before are no longer valid
+         */
+        protected boolean updateFormat(TemporalAxis<TF> axis) {
+            return false;
+        }
+
+        /**
+         * @return key of the labels this formatter produces for the axis state, the class unless the formatter has
+         * settings of its own
+         */
+        protected Object formatKey() {
+            return getClass();
+        }
+
         @Override
         public String toString(TF object) {
             return formatter.toString(object);
@@ -510,26 +1163,37 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     protected static class Range {
         public static final double SCALE_PRECISION = 0.000001;
 
-        private final double[] rangeProps;
+        private long lowerBound;
+        private long upperBound;
+        private long tickUnit;
+        private double scale;
 
         public Range(long lowerBound, long upperBound, long tickUnit, double scale) {
-            rangeProps = new double[]{lowerBound, upperBound, tickUnit, scale};
+            set(lowerBound, upperBound, tickUnit, scale);
+        }
+
+        Range set(long lowerBound, long upperBound, long tickUnit, double scale) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.tickUnit = tickUnit;
+            this.scale = scale;
+            return this;
         }
 
         public long lowerBound() {
-            return (long) rangeProps[0];
+            return lowerBound;
         }
 
         public long upperBound() {
-            return (long) rangeProps[1];
+            return upperBound;
         }
 
         public long tickUnit() {
-            return (long) rangeProps[2];
+            return tickUnit;
         }
 
         public double scale() {
-            return rangeProps[3];
+            return scale;
         }
 
         @Override
@@ -539,17 +1203,25 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
 
             Range r = (Range) o;
 
-            return rangeProps.length == r.rangeProps.length &&
-                    rangeProps[0] == (r.rangeProps[0]) &&
-                    rangeProps[1] == (r.rangeProps[1]) &&
-                    rangeProps[2] == (r.rangeProps[2]) &&
-                    Math.abs(scale() - r.scale()) < SCALE_PRECISION;
+            return lowerBound == r.lowerBound &&
+                    upperBound == r.upperBound &&
+                    tickUnit == r.tickUnit &&
+                    Math.abs(scale - r.scale) < SCALE_PRECISION;
+        }
+
+        @Override
+        public int hashCode() {
+            // scale is compared with a tolerance, leave it out
+            return 31 * (31 * Long.hashCode(lowerBound) + Long.hashCode(upperBound)) + Long.hashCode(tickUnit);
         }
 
         @Override
         public String toString() {
             return "Range{" +
-                    "rangeProps=" + Arrays.toString(rangeProps) +
+                    "lowerBound=" + lowerBound +
+                    ", upperBound=" + upperBound +
+                    ", tickUnit=" + tickUnit +
+                    ", scale=" + scale +
                     '}';
         }
     }
@@ -603,6 +1275,130 @@ public abstract class TemporalAxis<T extends Temporal> extends ValueAxis<Long> {
     }
 
 
+    private class ToLongTask extends RecursiveAction {
+        private final IntFunction<? extends T> source;
+        private final long[] target;
+        private final int from;
+        private final int to;
+
+        ToLongTask(IntFunction<? extends T> source, long[] target, int from, int to) {
+            this.source = source;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BULK_CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    target[i] = toLong(source.apply(i));
+                }
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new ToLongTask(source, target, from, mid), new ToLongTask(source, target, mid, to));
+            }
+        }
+    }
+
+    /**
+     * Counts the non-empty lines of each chunk into counts[chunk + 1], or parses them into values from offsets[chunk]
+     */
+    private class ParseLinesTask extends RecursiveAction {
+        private final CharSequence text;
+        private final int[] starts;
+        private final int[] offsets;
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        ParseLinesTask(CharSequence text, int[] starts, int[] offsets, long[] values, int from, int to) {
+            this.text = text;
+            this.starts = starts;
+            this.offsets = offsets;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int index = values != null ? offsets[from] : 0;
+                for (int i = starts[from]; i < starts[from + 1]; ) {
+                    int end = i;
+                    while (end < starts[from + 1] && text.charAt(end) != '\n') end++;
+                    int field = end > i && text.charAt(end - 1) == '\r' ? end - 1 : end;
+                    if (field > i) {
+                        if (values != null) {
+                            for (int j = i; j < field; j++) {
+                                if (text.charAt(j) == ',') {
+                                    field = j;
+                                    break;
+                                }
+                            }
+                            values[index] = parse(text, i, field);
+                        }
+                        index++;
+                    }
+                    i = end + 1;
+                }
+                if (values == null) offsets[from + 1] = index;
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new ParseLinesTask(text, starts, offsets, values, from, mid),
+                        new ParseLinesTask(text, starts, offsets, values, mid, to));
+            }
+        }
+    }
+
+    /**
+     * Coalesces animated range changes. A request after a quiet period is animated at once, requests coming faster
+     * than that are merged and applied on the next pulse, with the animation shortened to the time since the previous
+     * one - or skipped when that is below {@link #MIN_RANGE_ANIMATION_MILLIS}.
+     */
+    private class RangeAnimationTimer extends AnimationTimer {
+        private static final long NANOS_PER_MILLI = 1_000_000;
+        private boolean pending = false;
+        private long lowerBound;
+        private double scale;
+        private long lastAnimationNanos;
+        private boolean animated = false;
+
+        void request(long lowerBound, double scale) {
+            this.lowerBound = lowerBound;
+            this.scale = scale;
+            if (pending) return;
+            final long now = System.nanoTime();
+            if (!animated || now - lastAnimationNanos >= RANGE_ANIMATION_MILLIS * NANOS_PER_MILLI) {
+                animate(now, RANGE_ANIMATION_MILLIS);
+            } else {
+                pending = true;
+                start();
+            }
+        }
+
+        @Override
+        public void handle(long pulseNanos) {
+            final long now = System.nanoTime();
+            cancel();
+            animate(now, Math.min(RANGE_ANIMATION_MILLIS, (now - lastAnimationNanos) / NANOS_PER_MILLI));
+        }
+
+        void cancel() {
+            if (pending) {
+                pending = false;
+                stop();
+            }
+        }
+
+        private void animate(long now, long durationMillis) {
+            animated = true;
+            lastAnimationNanos = now;
+            animateRange(lowerBound, scale, durationMillis);
+        }
+    }
+
     private class WritableScale implements WritableValue<Double> {
         @Override
         public Double getValue() {
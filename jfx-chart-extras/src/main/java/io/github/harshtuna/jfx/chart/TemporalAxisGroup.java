@@ -0,0 +1,316 @@
+/*
+ * TemporalAxisGroup.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.scene.text.Font;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Temporal axes of stacked charts showing the same time window, e.g. a dashboard.
+ * The first member, the leader, auto-ranges over the data of all the charts; the others follow its range with
+ * auto-ranging and animation off. Pan or zoom of any member is pushed to the rest within the same pulse.
+ * Members with the same label style - formatter, tick label font and rotation - share one tick label cache, and
+ * members of one axis length share one tick list, so layout cost grows with the number of axis lengths rather than
+ * the number of charts.
+ * <p>
+ * Members must be of the same class, base and unit, and calculate ticks the same way. A removed member gets back the
+ * auto-ranging and animation settings it had when added.
+ */
+public final class TemporalAxisGroup {
+    // distinct axis lengths kept, more than that and the tick lists are recalculated from scratch
+    private static final int MAX_LENGTHS = 16;
+
+    private final List<TemporalAxis<?>> members = new ArrayList<>();
+    private final Map<TemporalAxis<?>, Member> memberStates = new HashMap<>();
+    private final Map<LabelStyle, TickLabelCache> labelCaches = new HashMap<>();
+    // counts of the label caches dropped so far
+    private long droppedHits;
+    private long droppedMisses;
+    private final List<Ticks> ticks = new ArrayList<>();
+    private final InvalidationListener rangeListener = this::rangeChanged;
+    private boolean syncing = false;
+
+    /**
+     * Adds the axis to the group, its range is replaced with the range of the group
+     *
+     * @throws IllegalArgumentException if the axis is in a group already, or differs from the group in class, base,
+     *                                  unit or tick calculation - e.g. the sessions of a business time axis
+     */
+    public void add(TemporalAxis<?> axis) {
+        if (axis.getGroup() != null) throw new IllegalArgumentException("Axis is in a group already");
+        if (!members.isEmpty()) {
+            final TemporalAxis<?> leader = getLeader();
+            if (axis.getClass() != leader.getClass() || !axis.getBase().equals(leader.getBase())
+                    || !axis.getUnit().equals(leader.getUnit()) || !Objects.equals(axis.tickKey(), leader.tickKey()))
+                throw new IllegalArgumentException(
+                        "Axis differs from the group in class, base, unit or tick calculation");
+            memberStates.put(axis, new Member(true, axis.isAutoRanging(), axis.isAnimated()));
+            axis.setAutoRanging(false);
+            axis.setAnimated(false);
+            axis.setBounds(leader.lowerBoundExact(), leader.upperBoundExact(), leader.getTickUnit());
+        } else {
+            memberStates.put(axis, new Member(false, false, false));
+        }
+        members.add(axis);
+        axis.joinGroup(this);
+        axis.lowerBoundProperty().addListener(rangeListener);
+        axis.upperBoundProperty().addListener(rangeListener);
+        axis.tickUnitProperty().addListener(rangeListener);
+        dataChanged(axis);
+    }
+
+    /**
+     * Removes the axis from the group, the next member takes over auto-ranging if the leader is removed
+     */
+    public void remove(TemporalAxis<?> axis) {
+        final int index = members.indexOf(axis);
+        if (index < 0) return;
+        members.remove(index);
+        axis.lowerBoundProperty().removeListener(rangeListener);
+        axis.upperBoundProperty().removeListener(rangeListener);
+        axis.tickUnitProperty().removeListener(rangeListener);
+        axis.leaveGroup();
+        if (index == 0 && !members.isEmpty()) getLeader().setAutoRanging(axis.isAutoRanging());
+        final Member state = memberStates.remove(axis);
+        if (state.restore) {
+            axis.setAnimated(state.animated);
+            axis.setAutoRanging(state.autoRanging);
+        }
+        dropUnusedCaches();
+    }
+
+    public List<TemporalAxis<?>> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    /**
+     * @return the member auto-ranging for the group, null if the group is empty
+     */
+    public TemporalAxis<?> getLeader() {
+        return members.isEmpty() ? null : members.get(0);
+    }
+
+    /**
+     * @return number of tick labels served from the shared label caches
+     */
+    public long getLabelCacheHits() {
+        long hits = droppedHits;
+        for (TickLabelCache cache : labelCaches.values()) {
+            hits += cache.hits();
+        }
+        return hits;
+    }
+
+    /**
+     * @return number of tick labels formatted because they were not in the shared label caches
+     */
+    public long getLabelCacheMisses() {
+        long misses = droppedMisses;
+        for (TickLabelCache cache : labelCaches.values()) {
+            misses += cache.misses();
+        }
+        return misses;
+    }
+
+    // -------------- PACKAGE PRIVATE ----------------------------------------------------------------------------------
+
+    /**
+     * @return label cache shared by the members with the current label style of the axis. Caches no member uses any
+     * more are dropped.
+     */
+    TickLabelCache labelCache(TemporalAxis<?> axis) {
+        final Member state = memberStates.get(axis);
+        if (state.style == null || !state.style.matches(axis)) {
+            state.style = new LabelStyle(axis);
+            dropUnusedCaches();
+        }
+        return labelCaches.computeIfAbsent(state.style, key -> new TickLabelCache(TickLabelCache.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Fills the buffer with the tick values of the range at the given length, calculated by the first member laid
+     * out at that length
+     *
+     * @return true if the values were calculated by another member
+     */
+    boolean tickValues(TemporalAxis<?> axis, double length, TemporalAxis.Range r, TickBuffer out) {
+        Ticks entry = null;
+        for (int i = 0, size = ticks.size(); i < size && entry == null; i++) {
+            if (ticks.get(i).length == length) entry = ticks.get(i);
+        }
+        final boolean shared = entry != null && r.equals(entry.range);
+        if (!shared) {
+            if (entry == null) {
+                if (ticks.size() == MAX_LENGTHS) ticks.clear();
+                entry = new Ticks(length);
+                ticks.add(entry);
+            }
+            entry.values.clear();
+            axis.calculateTickValues(r, entry.values);
+            entry.range.set(r.lowerBound(), r.upperBound(), r.tickUnit(), r.scale());
+        }
+        for (int i = 0, size = entry.values.size(); i < size; i++) {
+            out.add(entry.values.get(i));
+        }
+        return shared;
+    }
+
+    boolean hasData() {
+        return dataMin() <= dataMax();
+    }
+
+    long dataMin() {
+        long min = Long.MAX_VALUE;
+        for (TemporalAxis<?> member : members) {
+            min = Math.min(min, member.dataMin());
+        }
+        return min;
+    }
+
+    long dataMax() {
+        long max = Long.MIN_VALUE;
+        for (TemporalAxis<?> member : members) {
+            max = Math.max(max, member.dataMax());
+        }
+        return max;
+    }
+
+    /**
+     * Data of a member changed, the leader auto-ranges again
+     */
+    void dataChanged(TemporalAxis<?> axis) {
+        final TemporalAxis<?> leader = getLeader();
+        if (leader != axis && leader.isAutoRanging()) leader.invalidateAutoRange();
+    }
+
+    // -------------- PRIVATE ------------------------------------------------------------------------------------------
+
+    /**
+     * Drops the label caches of styles and the tick lists of lengths no member uses any more
+     */
+    private void dropUnusedCaches() {
+        labelCaches.entrySet().removeIf(entry -> {
+            for (Member state : memberStates.values()) {
+                if (entry.getKey().equals(state.style)) return false;
+            }
+            droppedHits += entry.getValue().hits();
+            droppedMisses += entry.getValue().misses();
+            return true;
+        });
+        ticks.removeIf(entry -> {
+            for (TemporalAxis<?> member : members) {
+                if (member.tickLength() == entry.length) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Pushes the range of the changed member to the others. A pan or zoom of a member other than the leader turns
+     * auto-ranging off.
+     */
+    private void rangeChanged(Observable observable) {
+        if (syncing) return;
+        final TemporalAxis<?> source = (TemporalAxis<?>) ((ReadOnlyProperty<?>) observable).getBean();
+        syncing = true;
+        try {
+            final TemporalAxis<?> leader = getLeader();
+            if (source != leader && leader.isAutoRanging()) leader.setAutoRanging(false);
+            for (TemporalAxis<?> member : members) {
+                if (member != source) {
+                    member.setBounds(source.lowerBoundExact(), source.upperBoundExact(), source.getTickUnit());
+                }
+            }
+        } finally {
+            syncing = false;
+        }
+    }
+
+    /**
+     * Settings of a member to restore on removal, and its current label style
+     */
+    private static final class Member {
+        final boolean restore;
+        final boolean autoRanging;
+        final boolean animated;
+        LabelStyle style;
+
+        Member(boolean restore, boolean autoRanging, boolean animated) {
+            this.restore = restore;
+            this.autoRanging = autoRanging;
+            this.animated = animated;
+        }
+    }
+
+    /**
+     * What tick labels and their sizes depend on besides the tick value
+     */
+    private static final class LabelStyle {
+        private final Object formatKey;
+        private final Font font;
+        private final double rotation;
+
+        LabelStyle(TemporalAxis<?> axis) {
+            formatKey = axis.labelFormatKey();
+            font = axis.getTickLabelFont();
+            rotation = axis.getTickLabelRotation();
+        }
+
+        boolean matches(TemporalAxis<?> axis) {
+            return Objects.equals(formatKey, axis.labelFormatKey()) && Objects.equals(font, axis.getTickLabelFont())
+                    && Double.compare(rotation, axis.getTickLabelRotation()) == 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LabelStyle)) return false;
+            final LabelStyle other = (LabelStyle) o;
+            return Objects.equals(formatKey, other.formatKey) && Objects.equals(font, other.font)
+                    && Double.compare(rotation, other.rotation) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(formatKey, font, rotation);
+        }
+    }
+
+    /**
+     * Tick values shared by the members of one length
+     */
+    private static final class Ticks {
+        final double length;
+        final TemporalAxis.Range range = new TemporalAxis.Range(0, 0, 0, Double.NaN);
+        final TickBuffer values = new TickBuffer(32);
+
+        Ticks(double length) {
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * TemporalAxisListener.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+/**
+ * Receives cost metrics of a {@link TemporalAxis}, see {@link TemporalAxis#setMetricsListener}.
+ * Called on the thread laying out the axis, implementations should return quickly. All methods do nothing by default.
+ */
+public interface TemporalAxisListener {
+    /**
+     * @param iterations Tick unit candidates tried
+     * @param nanos      Duration of the call
+     */
+    default void autoRanged(TemporalAxis<?> axis, int iterations, long nanos) {
+    }
+
+    /**
+     * A tick mark label was measured, its size was not in the label cache
+     */
+    default void tickLabelMeasured(TemporalAxis<?> axis) {
+    }
+
+    default void laidOut(TemporalAxis<?> axis, long nanos) {
+    }
+
+    default void ticksCalculated(TemporalAxis<?> axis, int tickCount) {
+    }
+
+    default void minorTicksCalculated(TemporalAxis<?> axis, int minorTickCount) {
+    }
+
+    /**
+     * Tick values or minor tick marks were requested with nothing changed, the previous ones were reused
+     */
+    default void ticksMemoized(TemporalAxis<?> axis) {
+    }
+
+    /**
+     * A range change animation was started, replacing the running one if any
+     */
+    default void rangeAnimationStarted(TemporalAxis<?> axis, long durationMillis) {
+    }
+
+    /**
+     * Too many tick marks were requested and none were created, the message also goes to System.err
+     */
+    default void tickLimitExceeded(TemporalAxis<?> axis, String message) {
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * TemporalAxisMetrics.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of axis costs, may be shared by any number of axes to aggregate them.
+ * Install with {@link TemporalAxis#setMetricsListener} and optionally {@link #register} as an MBean.
+ */
+public class TemporalAxisMetrics implements TemporalAxisListener, TemporalAxisMetricsMBean {
+    private static final String DOMAIN = "io.github.harshtuna.jfx.chart";
+
+    private final LongAdder autoRangeCount = new LongAdder();
+    private final LongAdder autoRangeIterations = new LongAdder();
+    private final LongAdder autoRangeNanos = new LongAdder();
+    private final LongAdder tickLabelMeasureCount = new LongAdder();
+    private final LongAdder layoutCount = new LongAdder();
+    private final LongAdder layoutNanos = new LongAdder();
+    private final LongAccumulator maxLayoutNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder tickCount = new LongAdder();
+    private final LongAdder minorTickCount = new LongAdder();
+    private final LongAdder tickMemoHitCount = new LongAdder();
+    private final LongAdder rangeAnimationCount = new LongAdder();
+    private final LongAdder tickLimitWarningCount = new LongAdder();
+    private volatile String lastTickLimitWarning;
+    private ObjectName objectName;
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * io.github.harshtuna.jfx.chart:type=TemporalAxis,name=&lt;name&gt;
+     */
+    public synchronized void register(String name) throws JMException {
+        final ObjectName newName = new ObjectName(DOMAIN + ":type=TemporalAxis,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        objectName = newName;
+    }
+
+    public synchronized void unregister() throws JMException {
+        if (objectName == null) return;
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+        objectName = null;
+    }
+
+    // -------------- LISTENER -----------------------------------------------------------------------------------------
+
+    @Override
+    public void autoRanged(TemporalAxis<?> axis, int iterations, long nanos) {
+        autoRangeCount.increment();
+        autoRangeIterations.add(iterations);
+        autoRangeNanos.add(nanos);
+    }
+
+    @Override
+    public void tickLabelMeasured(TemporalAxis<?> axis) {
+        tickLabelMeasureCount.increment();
+    }
+
+    @Override
+    public void laidOut(TemporalAxis<?> axis, long nanos) {
+        layoutCount.increment();
+        layoutNanos.add(nanos);
+        maxLayoutNanos.accumulate(nanos);
+    }
+
+    @Override
+    public void ticksCalculated(TemporalAxis<?> axis, int tickCount) {
+        this.tickCount.add(tickCount);
+    }
+
+    @Override
+    public void minorTicksCalculated(TemporalAxis<?> axis, int minorTickCount) {
+        this.minorTickCount.add(minorTickCount);
+    }
+
+    @Override
+    public void ticksMemoized(TemporalAxis<?> axis) {
+        tickMemoHitCount.increment();
+    }
+
+    @Override
+    public void rangeAnimationStarted(TemporalAxis<?> axis, long durationMillis) {
+        rangeAnimationCount.increment();
+    }
+
+    @Override
+    public void tickLimitExceeded(TemporalAxis<?> axis, String message) {
+        tickLimitWarningCount.increment();
+        lastTickLimitWarning = message;
+    }
+
+    // -------------- MBEAN --------------------------------------------------------------------------------------------
+
+    @Override
+    public long getAutoRangeCount() {
+        return autoRangeCount.sum();
+    }
+
+    @Override
+    public long getAutoRangeIterations() {
+        return autoRangeIterations.sum();
+    }
+
+    @Override
+    public long getAutoRangeNanos() {
+        return autoRangeNanos.sum();
+    }
+
+    @Override
+    public long getTickLabelMeasureCount() {
+        return tickLabelMeasureCount.sum();
+    }
+
+    @Override
+    public long getLayoutCount() {
+        return layoutCount.sum();
+    }
+
+    @Override
+    public long getLayoutNanos() {
+        return layoutNanos.sum();
+    }
+
+    @Override
+    public long getMaxLayoutNanos() {
+        return maxLayoutNanos.get();
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount.sum();
+    }
+
+    @Override
+    public long getMinorTickCount() {
+        return minorTickCount.sum();
+    }
+
+    @Override
+    public long getTickMemoHitCount() {
+        return tickMemoHitCount.sum();
+    }
+
+    @Override
+    public long getRangeAnimationCount() {
+        return rangeAnimationCount.sum();
+    }
+
+    @Override
+    public long getTickLimitWarningCount() {
+        return tickLimitWarningCount.sum();
+    }
+
+    @Override
+    public String getLastTickLimitWarning() {
+        return lastTickLimitWarning;
+    }
+
+    @Override
+    public void reset() {
+        autoRangeCount.reset();
+        autoRangeIterations.reset();
+        autoRangeNanos.reset();
+        tickLabelMeasureCount.reset();
+        layoutCount.reset();
+        layoutNanos.reset();
+        maxLayoutNanos.reset();
+        tickCount.reset();
+        minorTickCount.reset();
+        tickMemoHitCount.reset();
+        rangeAnimationCount.reset();
+        tickLimitWarningCount.reset();
+        lastTickLimitWarning = null;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * TemporalAxisMetricsMBean.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+/**
+ * JMX view of {@link TemporalAxisMetrics}, durations in nanoseconds
+ */
+public interface TemporalAxisMetricsMBean {
+    long getAutoRangeCount();
+
+    long getAutoRangeIterations();
+
+    long getAutoRangeNanos();
+
+    long getTickLabelMeasureCount();
+
+    long getLayoutCount();
+
+    long getLayoutNanos();
+
+    long getMaxLayoutNanos();
+
+    long getTickCount();
+
+    long getMinorTickCount();
+
+    long getTickMemoHitCount();
+
+    long getRangeAnimationCount();
+
+    long getTickLimitWarningCount();
+
+    String getLastTickLimitWarning();
+
+    void reset();
+}
@@ -0,0 +1,153 @@
+/*
+ * TemporalLabelFormat.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Precompiled tick label pattern, from "yyyy" to "yyyy-MM-dd HH:mm:ss.SSSSSSSSS".
+ * Leading date fields are dropped when all the axis range shares them, trailing fields finer than the tick unit are
+ * dropped too. Labels are written field by field into a caller supplied StringBuilder.
+ * <p>
+ * The adaptive axis formatters pick the format for the current tick unit and range, e.g. "HH:mm:ss" for ticks within
+ * a day or "MM-dd HH:mm" for ticks within a year, and parse labels as ISO, same as the default formatters.
+ */
+final class TemporalLabelFormat {
+    // precision - the finest field shown
+    static final int NANOS = 0;
+    static final int MICROS = 1;
+    static final int MILLIS = 2;
+    static final int SECONDS = 3;
+    static final int MINUTES = 4;
+    static final int DAYS = 5;
+    static final int MONTHS = 6;
+    static final int YEARS = 7;
+    // context - the date fields shared by the whole range
+    static final int SAME_DAY = 0;
+    static final int SAME_YEAR = 1;
+    static final int ANY = 2;
+
+    private static final int[] FRACTION_DIGITS = {9, 6, 3};
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+    private static final double SECONDS_PER_DAY = 86400;
+    // per thread, so that labels can be formatted off the FX Application Thread
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+    private static final TemporalLabelFormat[][] FORMATS = new TemporalLabelFormat[YEARS + 1][ANY + 1];
+
+    static {
+        for (int precision = NANOS; precision <= YEARS; precision++) {
+            for (int context = SAME_DAY; context <= ANY; context++) {
+                FORMATS[precision][context] = new TemporalLabelFormat(precision, context);
+            }
+        }
+    }
+
+    private final boolean year;
+    private final boolean monthDay;
+    private final boolean day;
+    private final boolean time;
+    private final boolean seconds;
+    private final int fractionDigits;
+
+    private TemporalLabelFormat(int precision, int context) {
+        year = precision >= MONTHS || context == ANY;
+        monthDay = precision <= MONTHS && (precision >= DAYS || context != SAME_DAY);
+        day = precision <= DAYS;
+        time = precision <= MINUTES;
+        seconds = precision <= SECONDS;
+        fractionDigits = precision <= MILLIS ? FRACTION_DIGITS[precision] : 0;
+    }
+
+    static TemporalLabelFormat of(int precision, int context) {
+        return FORMATS[precision][context];
+    }
+
+    /**
+     * @return precision matching the given number of units between tick marks
+     */
+    static int precision(TemporalUnit unit, long tickUnit) {
+        final Duration duration = unit.getDuration();
+        final double tickSeconds = (duration.getSeconds() + duration.getNano() / 1e9) * Math.max(tickUnit, 1);
+        if (tickSeconds >= 365 * SECONDS_PER_DAY) return YEARS;
+        if (tickSeconds >= 28 * SECONDS_PER_DAY) return MONTHS;
+        if (tickSeconds >= SECONDS_PER_DAY) return DAYS;
+        if (tickSeconds >= 60) return MINUTES;
+        if (tickSeconds >= 1) return SECONDS;
+        if (tickSeconds >= 1e-3) return MILLIS;
+        if (tickSeconds >= 1e-6) return MICROS;
+        return NANOS;
+    }
+
+    /**
+     * @return context of a range between the given dates
+     */
+    static int context(int lowerYear, int lowerDayOfYear, int upperYear, int upperDayOfYear) {
+        if (lowerYear != upperYear) return ANY;
+        return lowerDayOfYear == upperDayOfYear ? SAME_DAY : SAME_YEAR;
+    }
+
+    String format(StringBuilder sb, int year, int month, int dayOfMonth, int hour, int minute, int second, int nano) {
+        sb.setLength(0);
+        if (this.year) {
+            if (0 <= year && year <= 9999) {
+                pad(sb, year, 4);
+            } else {
+                sb.append(year);
+            }
+        }
+        if (monthDay) {
+            if (this.year) sb.append('-');
+            pad(sb, month, 2);
+            if (day) pad(sb.append('-'), dayOfMonth, 2);
+        }
+        if (time) {
+            if (this.year || monthDay) sb.append(' ');
+            pad(sb, hour, 2);
+            pad(sb.append(':'), minute, 2);
+            if (seconds) pad(sb.append(':'), second, 2);
+            if (fractionDigits > 0) pad(sb.append('.'), nano / POWERS_OF_TEN[9 - fractionDigits], fractionDigits);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats into a buffer of the calling thread
+     */
+    String format(int year, int month, int dayOfMonth, int hour, int minute, int second, int nano) {
+        return format(BUFFER.get(), year, month, dayOfMonth, hour, minute, second, nano);
+    }
+
+    String format(LocalDateTime t) {
+        return format(BUFFER.get(), t);
+    }
+
+    String format(StringBuilder sb, LocalDateTime t) {
+        return format(sb, t.getYear(), t.getMonthValue(), t.getDayOfMonth(), t.getHour(), t.getMinute(), t.getSecond(),
+                t.getNano());
+    }
+
+    private static void pad(StringBuilder sb, int value, int digits) {
+        for (int i = digits - 1; i > 0 && value < POWERS_OF_TEN[i]; i--) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+}
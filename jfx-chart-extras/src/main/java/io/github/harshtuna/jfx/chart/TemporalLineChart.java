@@ -0,0 +1,402 @@
+/*
+ * TemporalLineChart.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.beans.InvalidationListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.ValueAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Line chart drawing columnar series onto a single Canvas, without scene graph nodes per data item.
+ * Each pixel column is reduced to at most 4 vertices while drawing, and the canvas is only redrawn when the data
+ * or the axis mapping changed.
+ * <p>
+ * Lines are added with {@link #addLine}; series added to {@link #getData()} are not drawn.
+ * Y may be a number axis or another temporal axis, as in a bi-temporal chart.
+ */
+public class TemporalLineChart<Y extends Number> extends XYChart<Long, Y> {
+    private static final Color[] DEFAULT_COLORS = {
+            Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"), Color.web("#41a9c9"),
+            Color.web("#4258c9"), Color.web("#9a42c8"), Color.web("#c84164"), Color.web("#888888")
+    };
+
+    private final TemporalAxis<?> temporalXAxis;
+    private final ValueAxis<Y> valueYAxis;
+    private final Canvas canvas = new Canvas();
+    private final List<Line> lines = new ArrayList<>();
+    private final AxisMapping xMapping = new AxisMapping();
+    private final AxisMapping yMapping = new AxisMapping();
+    private boolean dirty = true;
+    // mapping the canvas was last drawn with
+    private double drawnXAnchor, drawnXFactor, drawnYAnchor, drawnYFactor;
+    int redrawCount;
+    int drawnVertexCount;
+
+    public TemporalLineChart(TemporalAxis<?> xAxis, ValueAxis<Y> yAxis) {
+        super(xAxis, yAxis);
+        this.temporalXAxis = xAxis;
+        this.valueYAxis = yAxis;
+        getPlotChildren().add(canvas);
+        final InvalidationListener rangeListener = observable -> requestChartLayout();
+        xAxis.scaleProperty().addListener(rangeListener);
+        xAxis.lowerBoundProperty().addListener(rangeListener);
+        yAxis.scaleProperty().addListener(rangeListener);
+        yAxis.lowerBoundProperty().addListener(rangeListener);
+    }
+
+    /**
+     * Adds a line of numeric values
+     *
+     * @param x Axis values, sorted ascending
+     * @param y Values for each x
+     */
+    public Line addLine(String name, long[] x, double[] y) {
+        return addLine(TemporalSeries.of(name, x, y));
+    }
+
+    /**
+     * Adds a line of exact long values, e.g. when Y axis is temporal
+     *
+     * @param x Axis values, sorted ascending
+     * @param y Values for each x
+     */
+    public Line addLine(String name, long[] x, long[] y) {
+        return addLine(TemporalSeries.of(name, x, y));
+    }
+
+    /**
+     * Adds a line drawing the series, redrawn whenever the series changes
+     */
+    public Line addLine(TemporalSeries series) {
+        return add(new Line(this, series, DEFAULT_COLORS[lines.size() % DEFAULT_COLORS.length]));
+    }
+
+    public void removeLine(Line line) {
+        if (lines.remove(line)) {
+            line.series.removeListener(line.seriesListener);
+            dataChanged();
+        }
+    }
+
+    public List<Line> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    private Line add(Line line) {
+        lines.add(line);
+        line.series.addListener(line.seriesListener);
+        dataChanged();
+        return line;
+    }
+
+    private void dataChanged() {
+        dirty = true;
+        updateAxisRange();
+        requestChartLayout();
+    }
+
+    private void styleChanged() {
+        dirty = true;
+        requestChartLayout();
+    }
+
+    // -------------- CHART --------------------------------------------------------------------------------------------
+
+    /**
+     * Passes line extremes to auto-ranging axes
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void updateAxisRange() {
+        long minX = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        long minYLong = Long.MAX_VALUE;
+        long maxYLong = Long.MIN_VALUE;
+        for (Line line : lines) {
+            final TemporalSeries series = line.series;
+            final int size = series.size();
+            if (size == 0) continue;
+            minX = Math.min(minX, series.x(0));
+            maxX = Math.max(maxX, series.x(size - 1));
+            minY = Math.min(minY, series.minY());
+            maxY = Math.max(maxY, series.maxY());
+            minYLong = Math.min(minYLong, series.minYLong());
+            maxYLong = Math.max(maxYLong, series.maxYLong());
+        }
+        final boolean empty = minX > maxX;
+        if (temporalXAxis.isAutoRanging()) {
+            temporalXAxis.invalidateRange(empty ? Collections.<Long>emptyList() : Arrays.asList(minX, maxX));
+        }
+        if (valueYAxis.isAutoRanging()) {
+            if (empty) {
+                valueYAxis.invalidateRange(Collections.<Y>emptyList());
+            } else if (valueYAxis instanceof TemporalAxis) {
+                // Y is Long for temporal axes
+                valueYAxis.invalidateRange(Arrays.asList((Y) Long.valueOf(minYLong), (Y) Long.valueOf(maxYLong)));
+            } else {
+                valueYAxis.invalidateRange(Arrays.asList(valueYAxis.toRealValue(minY), valueYAxis.toRealValue(maxY)));
+            }
+        }
+    }
+
+    @Override
+    protected void layoutPlotChildren() {
+        final double width = temporalXAxis.getWidth();
+        final double height = valueYAxis.getHeight();
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        xMapping.update(temporalXAxis);
+        yMapping.update(valueYAxis);
+        if (!dirty && drawnXAnchor == xMapping.anchor && drawnXFactor == xMapping.factor
+                && drawnYAnchor == yMapping.anchor && drawnYFactor == yMapping.factor) return;
+        dirty = false;
+        drawnXAnchor = xMapping.anchor;
+        drawnXFactor = xMapping.factor;
+        drawnYAnchor = yMapping.anchor;
+        drawnYFactor = yMapping.factor;
+        redraw(width, height);
+    }
+
+    private void redraw(double width, double height) {
+        redrawCount++;
+        drawnVertexCount = 0;
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        // visible x range, either axis direction
+        final long atStart = temporalXAxis.getValueForDisplay(0);
+        final long atEnd = temporalXAxis.getValueForDisplay(width);
+        final long lowerX = Math.min(atStart, atEnd);
+        final long upperX = Math.max(atStart, atEnd);
+        final double unitsPerPixel = (upperX - lowerX) / width;
+        for (Line line : lines) {
+            if (line.series.size() == 0 || !line.isVisible()) continue;
+            final TemporalSeries series = line.drawnSeries(unitsPerPixel);
+            gc.setStroke(line.getStroke());
+            gc.setLineWidth(line.getLineWidth());
+            // one point beyond each side keeps lines running to the plot edges
+            drawLine(gc, series, series.fromIndex(lowerX), series.toIndex(upperX));
+        }
+    }
+
+    /**
+     * Draws points [from, to) of the line, reducing each pixel column to first, min, max and last vertex
+     */
+    private void drawLine(GraphicsContext gc, TemporalSeries series, int from, int to) {
+        final boolean longValued = series.isLongValued();
+        gc.beginPath();
+        boolean penDown = false;
+        boolean columnOpen = false;
+        long column = 0;
+        double firstX = 0, firstY = 0, minY = 0, maxY = 0, lastX = 0, lastY = 0;
+        for (int i = from; i < to; i++) {
+            final double px = xMapping.position(series.x(i));
+            final double py = longValued ? yMapping.position(series.yLong(i)) : yMapping.position(series.y(i));
+            if (Double.isNaN(py)) {
+                // gap in the data
+                if (columnOpen) penDown = flushColumn(gc, penDown, firstX, firstY, minY, maxY, lastX, lastY);
+                columnOpen = false;
+                penDown = false;
+                continue;
+            }
+            final long c = (long) Math.floor(px);
+            if (columnOpen && c == column) {
+                minY = Math.min(minY, py);
+                maxY = Math.max(maxY, py);
+                lastX = px;
+                lastY = py;
+            } else {
+                if (columnOpen) penDown = flushColumn(gc, penDown, firstX, firstY, minY, maxY, lastX, lastY);
+                columnOpen = true;
+                column = c;
+                firstX = lastX = px;
+                firstY = minY = maxY = lastY = py;
+            }
+        }
+        if (columnOpen) flushColumn(gc, penDown, firstX, firstY, minY, maxY, lastX, lastY);
+        gc.stroke();
+    }
+
+    private boolean flushColumn(GraphicsContext gc, boolean penDown, double firstX, double firstY,
+                                double minY, double maxY, double lastX, double lastY) {
+        if (penDown) {
+            gc.lineTo(firstX, firstY);
+        } else {
+            gc.moveTo(firstX, firstY);
+        }
+        drawnVertexCount++;
+        if (minY < maxY) {
+            // vertical extent of the column, order within a pixel does not show
+            gc.lineTo(firstX, minY);
+            gc.lineTo(firstX, maxY);
+            drawnVertexCount += 2;
+        }
+        if (lastX != firstX || lastY != firstY) {
+            gc.lineTo(lastX, lastY);
+            drawnVertexCount++;
+        }
+        return true;
+    }
+
+    @Override
+    protected void dataItemAdded(Series<Long, Y> series, int itemIndex, Data<Long, Y> item) {
+    }
+
+    @Override
+    protected void dataItemRemoved(Data<Long, Y> item, Series<Long, Y> series) {
+    }
+
+    @Override
+    protected void dataItemChanged(Data<Long, Y> item) {
+    }
+
+    @Override
+    protected void seriesAdded(Series<Long, Y> series, int seriesIndex) {
+    }
+
+    @Override
+    protected void seriesRemoved(Series<Long, Y> series) {
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    /**
+     * Drawing style of a {@link TemporalSeries}
+     */
+    public static final class Line {
+        private final TemporalLineChart<?> chart;
+        private final InvalidationListener seriesListener = observable -> changed(true);
+        private TemporalSeries series;
+        private AggregationPyramid pyramid;
+        private Paint stroke;
+        private double lineWidth = 1.5;
+        private boolean visible = true;
+
+        private Line(TemporalLineChart<?> chart, TemporalSeries series, Paint stroke) {
+            this.chart = chart;
+            this.series = series;
+            this.stroke = stroke;
+        }
+
+        public String getName() {
+            return series.getName();
+        }
+
+        public int size() {
+            return series.size();
+        }
+
+        public TemporalSeries getSeries() {
+            return series;
+        }
+
+        /**
+         * Replaces the data of the line, arrays are used as is
+         */
+        public Line setData(long[] x, double[] y) {
+            return setSeries(TemporalSeries.of(getName(), x, y));
+        }
+
+        /**
+         * Replaces the data of the line, arrays are used as is
+         */
+        public Line setData(long[] x, long[] y) {
+            return setSeries(TemporalSeries.of(getName(), x, y));
+        }
+
+        public Line setSeries(TemporalSeries series) {
+            final boolean added = chart.lines.contains(this);
+            if (added) this.series.removeListener(seriesListener);
+            this.series = series;
+            if (added) series.addListener(seriesListener);
+            changed(true);
+            return this;
+        }
+
+        public AggregationPyramid getPyramid() {
+            return pyramid;
+        }
+
+        /**
+         * Zoomed out, the line is drawn from the coarsest pyramid level with buckets no wider than a pixel.
+         * The pyramid is brought up to date with the series before each redraw.
+         */
+        public Line setPyramid(AggregationPyramid pyramid) {
+            this.pyramid = pyramid;
+            changed(true);
+            return this;
+        }
+
+        private TemporalSeries drawnSeries(double unitsPerPixel) {
+            if (pyramid == null) return series;
+            pyramid.update(series);
+            final int level = pyramid.level(unitsPerPixel);
+            return level < 0 ? series : pyramid.view(level);
+        }
+
+        public Paint getStroke() {
+            return stroke;
+        }
+
+        public void setStroke(Paint stroke) {
+            this.stroke = stroke;
+            changed(false);
+        }
+
+        public double getLineWidth() {
+            return lineWidth;
+        }
+
+        public void setLineWidth(double lineWidth) {
+            this.lineWidth = lineWidth;
+            changed(false);
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public void setVisible(boolean visible) {
+            this.visible = visible;
+            changed(false);
+        }
+
+        private void changed(boolean data) {
+            if (!chart.lines.contains(this)) return;
+            if (data) {
+                chart.dataChanged();
+            } else {
+                chart.styleChanged();
+            }
+        }
+    }
+}
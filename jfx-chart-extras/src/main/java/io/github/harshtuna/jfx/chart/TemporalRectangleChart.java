@@ -0,0 +1,303 @@
+/*
+ * TemporalRectangleChart.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.beans.InvalidationListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.XYChart;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bi-temporal chart drawing {@link BiTemporalSeries} rectangles onto a single Canvas - valid time along X, transaction
+ * time along Y. Each redraw queries the R-tree of every layer for the rectangles intersecting the viewport of both
+ * axes, so pan and zoom cost grows with the visible rectangles rather than the series size. The canvas is only
+ * redrawn when the data, the style or the axis mapping changed.
+ * <p>
+ * Layers are added with {@link #addLayer}; series added to {@link #getData()} are not drawn.
+ */
+public class TemporalRectangleChart extends XYChart<Long, Long> {
+    private static final Color[] DEFAULT_COLORS = {
+            Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"), Color.web("#41a9c9"),
+            Color.web("#4258c9"), Color.web("#9a42c8"), Color.web("#c84164"), Color.web("#888888")
+    };
+
+    private final TemporalAxis<?> validAxis;
+    private final TemporalAxis<?> recordedAxis;
+    private final Canvas canvas = new Canvas();
+    private final List<Layer> layers = new ArrayList<>();
+    private final AxisMapping xMapping = new AxisMapping();
+    private final AxisMapping yMapping = new AxisMapping();
+    private boolean dirty = true;
+    // mapping the canvas was last drawn with
+    private double drawnXAnchor, drawnXFactor, drawnYAnchor, drawnYFactor;
+    int redrawCount;
+    int drawnRectangleCount;
+
+    /**
+     * @param validAxis    Valid time axis, X
+     * @param recordedAxis Transaction time axis, Y
+     */
+    public TemporalRectangleChart(TemporalAxis<?> validAxis, TemporalAxis<?> recordedAxis) {
+        super(validAxis, recordedAxis);
+        this.validAxis = validAxis;
+        this.recordedAxis = recordedAxis;
+        getPlotChildren().add(canvas);
+        final InvalidationListener rangeListener = observable -> requestChartLayout();
+        validAxis.scaleProperty().addListener(rangeListener);
+        validAxis.lowerBoundProperty().addListener(rangeListener);
+        recordedAxis.scaleProperty().addListener(rangeListener);
+        recordedAxis.lowerBoundProperty().addListener(rangeListener);
+    }
+
+    /**
+     * Adds a layer drawing the rectangles of the series, filled with a translucent default color
+     */
+    public Layer addLayer(BiTemporalSeries series) {
+        final Color color = DEFAULT_COLORS[layers.size() % DEFAULT_COLORS.length];
+        final Layer layer = new Layer(this, series, color.deriveColor(0, 1, 1, 0.4), color);
+        layers.add(layer);
+        dataChanged();
+        return layer;
+    }
+
+    public void removeLayer(Layer layer) {
+        if (layers.remove(layer)) dataChanged();
+    }
+
+    public List<Layer> getLayers() {
+        return Collections.unmodifiableList(layers);
+    }
+
+    private void dataChanged() {
+        dirty = true;
+        updateAxisRange();
+        requestChartLayout();
+    }
+
+    private void styleChanged() {
+        dirty = true;
+        requestChartLayout();
+    }
+
+    // -------------- CHART --------------------------------------------------------------------------------------------
+
+    /**
+     * Passes layer extremes to auto-ranging axes, open ends are left out
+     */
+    @Override
+    protected void updateAxisRange() {
+        long minX = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxY = Long.MIN_VALUE;
+        for (Layer layer : layers) {
+            final BiTemporalSeries series = layer.series;
+            minX = Math.min(minX, series.finiteMinValid());
+            maxX = Math.max(maxX, series.finiteMaxValid());
+            minY = Math.min(minY, series.finiteMinRecorded());
+            maxY = Math.max(maxY, series.finiteMaxRecorded());
+        }
+        if (validAxis.isAutoRanging()) {
+            validAxis.invalidateRange(minX > maxX ? Collections.<Long>emptyList() : Arrays.asList(minX, maxX));
+        }
+        if (recordedAxis.isAutoRanging()) {
+            recordedAxis.invalidateRange(minY > maxY ? Collections.<Long>emptyList() : Arrays.asList(minY, maxY));
+        }
+    }
+
+    @Override
+    protected void layoutPlotChildren() {
+        final double width = validAxis.getWidth();
+        final double height = recordedAxis.getHeight();
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        xMapping.update(validAxis);
+        yMapping.update(recordedAxis);
+        if (!dirty && drawnXAnchor == xMapping.anchor && drawnXFactor == xMapping.factor
+                && drawnYAnchor == yMapping.anchor && drawnYFactor == yMapping.factor) return;
+        dirty = false;
+        drawnXAnchor = xMapping.anchor;
+        drawnXFactor = xMapping.factor;
+        drawnYAnchor = yMapping.anchor;
+        drawnYFactor = yMapping.factor;
+        redraw(width, height);
+    }
+
+    private void redraw(double width, double height) {
+        redrawCount++;
+        drawnRectangleCount = 0;
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        // visible ranges, either axis direction
+        final long atLeft = validAxis.getValueForDisplay(0);
+        final long atRight = validAxis.getValueForDisplay(width);
+        final long atTop = recordedAxis.getValueForDisplay(0);
+        final long atBottom = recordedAxis.getValueForDisplay(height);
+        final long minX = Math.min(atLeft, atRight);
+        final long maxX = Math.max(atLeft, atRight);
+        final long minY = Math.min(atTop, atBottom);
+        final long maxY = Math.max(atTop, atBottom);
+        for (Layer layer : layers) {
+            if (!layer.isVisible()) continue;
+            final BiTemporalSeries series = layer.series;
+            gc.setFill(layer.getFill());
+            gc.setStroke(layer.getStroke());
+            gc.setLineWidth(layer.getLineWidth());
+            drawnRectangleCount += series.query(minX, maxX, minY, maxY, i -> {
+                // open ends and far bounds are clipped to the viewport before mapping
+                final double x0 = xMapping.position(clip(series.validFrom(i), minX, maxX));
+                final double x1 = xMapping.position(clip(series.validTo(i), minX, maxX));
+                final double y0 = yMapping.position(clip(series.recordedFrom(i), minY, maxY));
+                final double y1 = yMapping.position(clip(series.recordedTo(i), minY, maxY));
+                // at least a pixel, so that short versions stay visible
+                final double x = Math.min(x0, x1);
+                final double y = Math.min(y0, y1);
+                final double w = Math.max(Math.abs(x1 - x0), 1);
+                final double h = Math.max(Math.abs(y1 - y0), 1);
+                if (layer.getFill() != null) gc.fillRect(x, y, w, h);
+                if (layer.getStroke() != null) gc.strokeRect(x, y, w, h);
+            });
+        }
+    }
+
+    /**
+     * @return the value within one unit beyond the bounds
+     */
+    private static long clip(long value, long min, long max) {
+        if (value < min) return min - 1;
+        if (value > max) return max + 1;
+        return value;
+    }
+
+    @Override
+    protected void dataItemAdded(Series<Long, Long> series, int itemIndex, Data<Long, Long> item) {
+    }
+
+    @Override
+    protected void dataItemRemoved(Data<Long, Long> item, Series<Long, Long> series) {
+    }
+
+    @Override
+    protected void dataItemChanged(Data<Long, Long> item) {
+    }
+
+    @Override
+    protected void seriesAdded(Series<Long, Long> series, int seriesIndex) {
+    }
+
+    @Override
+    protected void seriesRemoved(Series<Long, Long> series) {
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    /**
+     * Drawing style of a {@link BiTemporalSeries}
+     */
+    public static final class Layer {
+        private final TemporalRectangleChart chart;
+        private BiTemporalSeries series;
+        private Paint fill;
+        private Paint stroke;
+        private double lineWidth = 1;
+        private boolean visible = true;
+
+        private Layer(TemporalRectangleChart chart, BiTemporalSeries series, Paint fill, Paint stroke) {
+            this.chart = chart;
+            this.series = series;
+            this.fill = fill;
+            this.stroke = stroke;
+        }
+
+        public String getName() {
+            return series.getName();
+        }
+
+        public BiTemporalSeries getSeries() {
+            return series;
+        }
+
+        public Layer setSeries(BiTemporalSeries series) {
+            this.series = series;
+            changed(true);
+            return this;
+        }
+
+        public Paint getFill() {
+            return fill;
+        }
+
+        /**
+         * @param fill The fill, or null to draw outlines only
+         */
+        public void setFill(Paint fill) {
+            this.fill = fill;
+            changed(false);
+        }
+
+        public Paint getStroke() {
+            return stroke;
+        }
+
+        /**
+         * @param stroke The outline, or null to fill only
+         */
+        public void setStroke(Paint stroke) {
+            this.stroke = stroke;
+            changed(false);
+        }
+
+        public double getLineWidth() {
+            return lineWidth;
+        }
+
+        public void setLineWidth(double lineWidth) {
+            this.lineWidth = lineWidth;
+            changed(false);
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public void setVisible(boolean visible) {
+            this.visible = visible;
+            changed(false);
+        }
+
+        private void changed(boolean data) {
+            if (!chart.layers.contains(this)) return;
+            if (data) {
+                chart.dataChanged();
+            } else {
+                chart.styleChanged();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * TemporalSeries.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Primitive columnar series of {@link TemporalAxis} values, sorted by x, with y values either double or exact long.
+ * A few bytes per point instead of an {@link javafx.scene.chart.XYChart.Data} object, read by index.
+ * Listeners are invalidated when the data changes.
+ */
+public abstract class TemporalSeries implements Observable {
+    private final String name;
+    private final CopyOnWriteArrayList<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    protected TemporalSeries(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Series over the given columns, arrays are used as is
+     *
+     * @param x Axis values, sorted ascending
+     * @param y Values for each x
+     */
+    public static TemporalSeries of(String name, long[] x, double[] y) {
+        return new ArrayTemporalSeries(name, x, y, null);
+    }
+
+    /**
+     * Series of exact long values, e.g. for a temporal Y axis, arrays are used as is
+     *
+     * @param x Axis values, sorted ascending
+     * @param y Values for each x
+     */
+    public static TemporalSeries of(String name, long[] x, long[] y) {
+        return new ArrayTemporalSeries(name, x, null, y);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public abstract int size();
+
+    public abstract long x(int index);
+
+    public abstract double y(int index);
+
+    /**
+     * @return exact y of long valued series, y truncated to long otherwise
+     */
+    public long yLong(int index) {
+        return (long) y(index);
+    }
+
+    public abstract boolean isLongValued();
+
+    public abstract double minY();
+
+    public abstract double maxY();
+
+    public long minYLong() {
+        return (long) Math.floor(minY());
+    }
+
+    public long maxYLong() {
+        return (long) Math.ceil(maxY());
+    }
+
+    /**
+     * @return index of the first point with x not less than the key, or size if there is none
+     */
+    public int ceilingIndex(long key) {
+        return SortedLongs.ceilingIndex(this::x, size(), key);
+    }
+
+    /**
+     * @return first index of the points drawn between the bounds, including one point before the lower bound
+     */
+    public int fromIndex(long lowerBound) {
+        return Math.max(0, ceilingIndex(lowerBound) - 1);
+    }
+
+    /**
+     * @return index after the last point drawn between the bounds, including one point after the upper bound
+     */
+    public int toIndex(long upperBound) {
+        return Math.min(size(), ceilingIndex(upperBound) + 1);
+    }
+
+    /**
+     * @return first index of the points visible on the axis, see {@link #fromIndex}
+     */
+    public int visibleFrom(TemporalAxis<?> axis) {
+        return fromIndex(axis.lowerBoundExact());
+    }
+
+    /**
+     * @return index after the last point visible on the axis, see {@link #toIndex}
+     */
+    public int visibleTo(TemporalAxis<?> axis) {
+        return toIndex(axis.upperBoundExact());
+    }
+
+    /**
+     * Copies points [from, to) into the given columns
+     *
+     * @return number of points copied
+     */
+    public int copy(int from, int to, long[] x, double[] y) {
+        for (int i = from; i < to; i++) {
+            x[i - from] = x(i);
+            y[i - from] = y(i);
+        }
+        return to - from;
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    protected void fireChanged() {
+        for (InvalidationListener listener : listeners) {
+            listener.invalidated(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{name=" + name + ", size=" + size() + '}';
+    }
+}
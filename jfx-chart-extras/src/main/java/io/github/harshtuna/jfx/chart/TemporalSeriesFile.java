@@ -0,0 +1,281 @@
+/*
+ * TemporalSeriesFile.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Writes the binary columnar series format read by {@link MappedTemporalSeries}.
+ * <p>
+ * Layout, little endian: magic "TSER", version, flags, point count, data offset, min and max y, then the axis base
+ * type, base and unit as UTF-8 strings. The x column of longs starts at the 8-byte aligned data offset and is
+ * followed by the y column of doubles, or of longs for long valued series.
+ */
+public final class TemporalSeriesFile {
+    static final int MAGIC = 0x52455354; // "TSER"
+    static final short VERSION = 1;
+    private static final short FLAG_LONG_VALUED = 1;
+    private static final int FIXED_HEADER_SIZE = 40;
+    // three strings of at most 65535 bytes after the fixed header, padded to 8
+    private static final long MAX_DATA_OFFSET = (FIXED_HEADER_SIZE + 3 * (2 + 65535) + 7) & ~7;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TemporalSeriesFile() {
+    }
+
+    /**
+     * Writes the series, x values are taken as converted by the axis
+     */
+    public static void write(Path path, TemporalAxis<?> axis, TemporalSeries series) throws IOException {
+        final Header header = new Header(axis.getBase(), axis.getUnit(), series.isLongValued());
+        header.count = series.size();
+        if (series.size() > 0) {
+            header.minY = series.isLongValued() ? series.minYLong() : Double.doubleToLongBits(series.minY());
+            header.maxY = series.isLongValued() ? series.maxYLong() : Double.doubleToLongBits(series.maxY());
+        }
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            header.write(out);
+            final ByteBuffer buffer = buffer();
+            for (int i = 0; i < series.size(); i++) {
+                if (!buffer.hasRemaining()) flush(buffer, out);
+                buffer.putLong(series.x(i));
+            }
+            for (int i = 0; i < series.size(); i++) {
+                if (!buffer.hasRemaining()) flush(buffer, out);
+                if (series.isLongValued()) {
+                    buffer.putLong(series.yLong(i));
+                } else {
+                    buffer.putDouble(series.y(i));
+                }
+            }
+            flush(buffer, out);
+        }
+    }
+
+    /**
+     * Converts "time,value" lines, time in the format parsed by the axis default formatter (ISO by default).
+     * Lines are streamed, y values are spilled to a temporary file next to the output, so CSV files of any size
+     * convert in constant memory.
+     *
+     * @param skipHeader whether the first line holds column names
+     * @throws IllegalArgumentException on malformed lines or times out of order
+     */
+    public static void convertCsv(Path csv, Path path, TemporalAxis<?> axis, boolean skipHeader) throws IOException {
+        final Header header = new Header(axis.getBase(), axis.getUnit(), false);
+        final Path yPath = Files.createTempFile(path.toAbsolutePath().getParent(), "tser", ".y");
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel yOut = FileChannel.open(yPath, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            out.position(header.dataOffset());
+            final ByteBuffer xBuffer = buffer();
+            final ByteBuffer yBuffer = buffer();
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            long count = 0;
+            long last = Long.MIN_VALUE;
+            int lineNumber = 0;
+            String line;
+            if (skipHeader && in.readLine() != null) lineNumber++;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) continue;
+                final int comma = line.indexOf(',');
+                if (comma < 0) throw new IllegalArgumentException("Line " + lineNumber + ": no value column");
+                final int end = line.indexOf(',', comma + 1);
+                final long x;
+                final double y;
+                try {
+                    x = axis.parse(line, 0, comma);
+                    y = Double.parseDouble(line.substring(comma + 1, end < 0 ? line.length() : end));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (x < last) throw new IllegalArgumentException("Line " + lineNumber + ": time out of order");
+                last = x;
+                if (!xBuffer.hasRemaining()) flush(xBuffer, out);
+                if (!yBuffer.hasRemaining()) flush(yBuffer, yOut);
+                xBuffer.putLong(x);
+                yBuffer.putDouble(y);
+                min = Math.min(min, y);
+                max = Math.max(max, y);
+                count++;
+            }
+            flush(xBuffer, out);
+            flush(yBuffer, yOut);
+            for (long done = 0; done < yOut.size(); ) {
+                done += yOut.transferTo(done, yOut.size() - done, out);
+            }
+            header.count = count;
+            header.minY = Double.doubleToLongBits(min);
+            header.maxY = Double.doubleToLongBits(max);
+            out.position(0);
+            header.write(out);
+        } finally {
+            Files.deleteIfExists(yPath);
+        }
+    }
+
+    private static ByteBuffer buffer() {
+        return ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    static final class Header {
+        final String baseType;
+        final String baseText;
+        final String unit;
+        final boolean longValued;
+        long count;
+        long dataOffset;
+        // raw double bits unless long valued
+        long minY;
+        long maxY;
+
+        Header(Temporal base, TemporalUnit unit, boolean longValued) {
+            if (!(unit instanceof ChronoUnit))
+                throw new IllegalArgumentException("Only ChronoUnit axes can be stored: " + unit);
+            this.baseType = base.getClass().getName();
+            this.baseText = base.toString();
+            this.unit = ((ChronoUnit) unit).name();
+            this.longValued = longValued;
+            this.minY = longValued ? Long.MAX_VALUE : Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+            this.maxY = longValued ? Long.MIN_VALUE : Double.doubleToLongBits(Double.NEGATIVE_INFINITY);
+            this.dataOffset = dataOffset();
+        }
+
+        private Header(String baseType, String baseText, String unit, boolean longValued) {
+            this.baseType = baseType;
+            this.baseText = baseText;
+            this.unit = unit;
+            this.longValued = longValued;
+        }
+
+        long dataOffset() {
+            final int size = FIXED_HEADER_SIZE + 6 + utf8(baseType).length + utf8(baseText).length + utf8(unit).length;
+            return (size + 7) & ~7;
+        }
+
+        Temporal base() {
+            switch (baseType) {
+                case "java.time.LocalDate":
+                    return LocalDate.parse(baseText);
+                case "java.time.LocalDateTime":
+                    return LocalDateTime.parse(baseText);
+                case "java.time.Instant":
+                    return Instant.parse(baseText);
+                case "java.time.OffsetDateTime":
+                    return OffsetDateTime.parse(baseText);
+                case "java.time.ZonedDateTime":
+                    return ZonedDateTime.parse(baseText);
+                default:
+                    throw new IllegalStateException("Unsupported base type: " + baseType);
+            }
+        }
+
+        void write(FileChannel out) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putShort(VERSION).putShort(longValued ? FLAG_LONG_VALUED : 0)
+                    .putLong(count).putLong(dataOffset).putLong(minY).putLong(maxY);
+            putString(buffer, baseType);
+            putString(buffer, baseText);
+            putString(buffer, unit);
+            buffer.position(buffer.limit());
+            flush(buffer, out);
+        }
+
+        static Header read(FileChannel in) throws IOException {
+            final ByteBuffer fixed = readFully(in, 0, FIXED_HEADER_SIZE);
+            if (fixed.getInt() != MAGIC) throw new IllegalArgumentException("Not a series file");
+            final short version = fixed.getShort();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported version: " + version);
+            final boolean longValued = (fixed.getShort() & FLAG_LONG_VALUED) != 0;
+            final long count = fixed.getLong();
+            final long dataOffset = fixed.getLong();
+            final long minY = fixed.getLong();
+            final long maxY = fixed.getLong();
+            // validate before allocating, a corrupt header must not size the buffers
+            if (count < 0) throw new IllegalArgumentException("Corrupt series file, point count " + count);
+            if (dataOffset < FIXED_HEADER_SIZE || dataOffset > MAX_DATA_OFFSET || (dataOffset & 7) != 0
+                    || dataOffset > in.size())
+                throw new IllegalArgumentException("Corrupt series file, data offset " + dataOffset);
+            if (count > (in.size() - dataOffset) / 16)
+                throw new IllegalArgumentException("Truncated series file, " + count + " points expected");
+            final ByteBuffer strings = readFully(in, FIXED_HEADER_SIZE, (int) dataOffset - FIXED_HEADER_SIZE);
+            final Header header = new Header(getString(strings), getString(strings), getString(strings), longValued);
+            header.count = count;
+            header.dataOffset = dataOffset;
+            header.minY = minY;
+            header.maxY = maxY;
+            return header;
+        }
+
+        private static ByteBuffer readFully(FileChannel in, long position, int size) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer, position + buffer.position()) < 0)
+                    throw new IllegalArgumentException("Not a series file");
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private static void putString(ByteBuffer buffer, String value) {
+            final byte[] bytes = utf8(value);
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+
+        private static String getString(ByteBuffer buffer) {
+            if (buffer.remaining() < 2) throw new IllegalArgumentException("Corrupt series file header");
+            final int length = buffer.getShort() & 0xFFFF;
+            if (length > buffer.remaining()) throw new IllegalArgumentException("Corrupt series file header");
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] utf8(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
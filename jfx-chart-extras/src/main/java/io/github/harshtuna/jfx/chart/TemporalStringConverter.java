@@ -0,0 +1,49 @@
+/*
+ * TemporalStringConverter.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.util.StringConverter;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalQuery;
+
+/**
+ * StringConverter over a DateTimeFormatter, for the temporal types JavaFX has no converter for
+ */
+final class TemporalStringConverter<T extends Temporal> extends StringConverter<T> {
+    private final DateTimeFormatter formatter;
+    private final TemporalQuery<T> query;
+
+    TemporalStringConverter(DateTimeFormatter formatter, TemporalQuery<T> query) {
+        this.formatter = formatter;
+        this.query = query;
+    }
+
+    @Override
+    public String toString(T temporal) {
+        return temporal == null ? "" : formatter.format(temporal);
+    }
+
+    @Override
+    public T fromString(String string) {
+        if (string == null || string.trim().isEmpty()) return null;
+        return formatter.parse(string.trim(), query);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * TickBuffer.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Growable primitive buffer of tick values, reused by {@link TemporalAxis} across layout passes.
+ * Contents are only valid until the axis recalculates its ticks.
+ */
+public final class TickBuffer {
+    private long[] values;
+    private int size = 0;
+    private final List<Long> view = new View();
+
+    TickBuffer(int capacity) {
+        values = new long[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return values[index];
+    }
+
+    /**
+     * @return a copy of the current tick values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * @return read-only boxed view of this buffer, for the {@link javafx.scene.chart.ValueAxis} contract
+     */
+    public List<Long> asList() {
+        return view;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(long value) {
+        if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+        values[size++] = value;
+    }
+
+    @Override
+    public String toString() {
+        return view.toString();
+    }
+
+    private class View extends AbstractList<Long> implements RandomAccess {
+        @Override
+        public Long get(int index) {
+            return TickBuffer.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * TickLabelCache.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.geometry.Dimension2D;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of tick mark labels and their measured sizes, keyed by tick value without boxing. The cache is
+ * direct-mapped: each tick has one slot, and replaces the tick cached there before.
+ * Entries are only valid for a single formatter, font and rotation - the owning axis clears the cache when any of
+ * those changes. Labels are measured with the axis Text node, so the cache is used on the FX Application Thread only.
+ */
+final class TickLabelCache {
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final Label[] labels;
+    private final int shift;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    TickLabelCache(final int capacity) {
+        final int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        labels = new Label[slots];
+        shift = 64 - Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * Counts a hit or a miss, once per tick label laid out
+     */
+    String label(TemporalAxis<?> axis, long tick) {
+        final Label label = labels[index(tick)];
+        if (label != null && label.tick == tick) {
+            hits++;
+            return label.text;
+        }
+        misses++;
+        return add(axis, tick).text;
+    }
+
+    Dimension2D size(TemporalAxis<?> axis, long tick, double rotation) {
+        Label label = labels[index(tick)];
+        if (label == null || label.tick != tick) label = add(axis, tick);
+        if (label.size == null || label.rotation != rotation) {
+            label.size = axis.measureLabel(label.text, rotation);
+            label.rotation = rotation;
+        }
+        return label.size;
+    }
+
+    void clear() {
+        Arrays.fill(labels, null);
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    private Label add(TemporalAxis<?> axis, long tick) {
+        final String text = axis.formatTickMarkLabel(tick);
+        final int index = index(tick);
+        Label label = labels[index];
+        if (label == null) {
+            label = new Label();
+            labels[index] = label;
+        }
+        label.tick = tick;
+        label.text = text;
+        label.size = null;
+        return label;
+    }
+
+    /**
+     * Fibonacci hashing, ticks are multiples of the tick unit and would share the low bits
+     */
+    private int index(long tick) {
+        return (int) ((tick * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static final class Label {
+        long tick;
+        String text;
+        Dimension2D size;
+        double rotation;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * ZoneOffsetCache.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Offset of a zone at a given epoch second, remembering the period between the surrounding transitions.
+ * Tick values are close to each other, so zone rules are looked up once per offset change rather than per tick.
+ * The period is replaced as a whole, so formatting threads sharing the cache never see a torn one.
+ */
+final class ZoneOffsetCache {
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private Period period = new Period(1, 0, null);
+
+    ZoneOffsetCache(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) period = new Period(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH));
+    }
+
+    ZoneId zone() {
+        return zone;
+    }
+
+    ZoneOffset offset(long epochSecond) {
+        Period p = period;
+        if (epochSecond < p.from || epochSecond >= p.to) period = p = lookup(epochSecond);
+        return p.offset;
+    }
+
+    LocalDateTime localDateTime(long epochSecond, int nano) {
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, offset(epochSecond));
+    }
+
+    private Period lookup(long epochSecond) {
+        final Instant instant = Instant.ofEpochSecond(epochSecond);
+        final ZoneOffset offset = rules.getOffset(instant);
+        // transitions fall on whole seconds, the one at epochSecond itself is "before" the next second
+        final ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        final ZoneOffsetTransition next = rules.nextTransition(instant);
+        return new Period(previous != null ? previous.toEpochSecond() : Long.MIN_VALUE,
+                next != null ? next.toEpochSecond() : Long.MAX_VALUE, offset);
+    }
+
+    /**
+     * Offset valid for epoch seconds [from, to)
+     */
+    private static final class Period {
+        final long from;
+        final long to;
+        final ZoneOffset offset;
+
+        Period(long from, long to, ZoneOffset offset) {
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * ZonedDateTimeAxis.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.util.StringConverter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
+
+/**
+ * Axis of zoned date times, labelled as local times of a display zone, the zone of the base by default.
+ * For time based units (NANOS to HALF_DAYS) values are instant offsets from the base, so data from different zones
+ * lines up, and tick labels are formatted from zone offsets cached between transitions.
+ * Date based units follow {@link ZonedDateTime#until}, i.e. local date-time in the zone of the base.
+ */
+public class ZonedDateTimeAxis extends TemporalAxis<ZonedDateTime> {
+    // instant arithmetic for time based units, null for date based units
+    private final FixedUnitConverter converter = getUnit().isTimeBased()
+            ? FixedUnitConverter.of(getBase().toEpochSecond(), getBase().getNano(), getUnit()) : null;
+    private ZoneOffsetCache offsets;
+
+    /**
+     * Zone tick labels show local times of
+     */
+    private final ObjectProperty<ZoneId> displayZone = new ObjectPropertyBase<ZoneId>() {
+        @Override
+        protected void invalidated() {
+            offsets = new ZoneOffsetCache(getDisplayZone());
+            // day boundaries moved, adaptive formats may change
+            for (StringConverter<ZonedDateTime> formatter : Arrays.asList(defaultFormatter, getTemporalLabelFormatter())) {
+                if (formatter instanceof AdaptiveZdtFormatter) {
+                    ((AdaptiveZdtFormatter) formatter).updateFormat(ZonedDateTimeAxis.this);
+                }
+            }
+            labelStyleChanged();
+            requestAxisLayout();
+        }
+
+        @Override
+        public Object getBean() {
+            return ZonedDateTimeAxis.this;
+        }
+
+        @Override
+        public String getName() {
+            return "displayZone";
+        }
+    };
+
+    public final ZoneId getDisplayZone() {
+        return displayZone.get();
+    }
+
+    public final void setDisplayZone(ZoneId value) {
+        displayZone.set(value);
+    }
+
+    public final ObjectProperty<ZoneId> displayZoneProperty() {
+        return displayZone;
+    }
+
+    public ZonedDateTimeAxis(ZonedDateTime base, TemporalUnit unit) {
+        super(base, unit);
+        init();
+    }
+
+    public ZonedDateTimeAxis(ZonedDateTime lowerBound, ZonedDateTime upperBound, long tickUnit, TemporalUnit unit) {
+        super(lowerBound, upperBound, tickUnit, unit);
+        init();
+    }
+
+    public ZonedDateTimeAxis(String axisLabel, ZonedDateTime lowerBound, ZonedDateTime upperBound, long tickUnit, TemporalUnit unit) {
+        super(axisLabel, lowerBound, upperBound, tickUnit, unit);
+        init();
+    }
+
+    private void init() {
+        setDisplayZone(getBase().getZone());
+        defaultFormatter = new ZdtFormatter(this);
+    }
+
+    @Override
+    public long toLong(ZonedDateTime temporal) {
+        if (converter == null) return super.toLong(temporal);
+        return converter.toOffset(temporal.toEpochSecond(), temporal.getNano());
+    }
+
+    @Override
+    ZonedDateTime toTemporal(long val) {
+        if (converter == null) return super.toTemporal(val).withZoneSameInstant(getDisplayZone());
+        return ZonedDateTime.ofInstant(localDateTime(val), offsets.offset(converter.epochSecond(val)), getDisplayZone());
+    }
+
+    /**
+     * @return local date-time in the display zone
+     */
+    LocalDateTime localDateTime(long val) {
+        if (converter == null) return toTemporal(val).toLocalDateTime();
+        return offsets.localDateTime(converter.epochSecond(val), converter.nano(val));
+    }
+
+    /**
+     * Adaptive labels of time based axes are formatted from cached zone offsets, without zone rules lookups
+     */
+    @Override
+    String formatTickMarkLabel(long tick) {
+        StringConverter<ZonedDateTime> formatter = getTemporalLabelFormatter();
+        if (formatter == null) formatter = defaultFormatter;
+        if (converter != null && formatter instanceof AdaptiveZdtFormatter) {
+            return ((AdaptiveZdtFormatter) formatter).format(localDateTime(tick));
+        }
+        return super.formatTickMarkLabel(tick);
+    }
+
+    @Override
+    Object labelFormatKey() {
+        return Arrays.asList(super.labelFormatKey(), getDisplayZone());
+    }
+
+    @Override
+    protected String getTickMarkLabel(ZonedDateTime temporal) {
+        StringConverter<ZonedDateTime> formatter = getTemporalLabelFormatter();
+        if (formatter == null) formatter = defaultFormatter;
+        return formatter.toString(temporal);
+    }
+
+    // -------------- INNER CLASSES ------------------------------------------------------------------------------------
+
+    /**
+     * Default formatter for ZonedDateTimeAxis, ISO zoned date times
+     */
+    public static class ZdtFormatter extends DefaultFormatter<ZonedDateTime> {
+        /**
+         * Construct a DefaultFormatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         */
+        public ZdtFormatter(final ZonedDateTimeAxis axis) {
+            super(axis);
+        }
+
+        @Override
+        protected StringConverter<ZonedDateTime> getFormatter() {
+            return new TemporalStringConverter<>(DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from);
+        }
+    }
+
+    /**
+     * Formatter adapting the label pattern to the current tick unit and range, as local time in the display zone.
+     * Labels are parsed as ISO, same as the default formatter.
+     * Install with {@link #setTemporalLabelFormatter}.
+     */
+    public static class AdaptiveZdtFormatter extends DefaultFormatter<ZonedDateTime> {
+        private TemporalLabelFormat format;
+
+        /**
+         * Construct an adaptive formatter for the given axis
+         *
+         * @param axis The axis to format tick marks for
+         */
+        public AdaptiveZdtFormatter(final ZonedDateTimeAxis axis) {
+            super(axis);
+            updateFormat(axis);
+        }
+
+        @Override
+        protected StringConverter<ZonedDateTime> getFormatter() {
+            return new TemporalStringConverter<>(DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from);
+        }
+
+        @Override
+        protected boolean updateFormat(TemporalAxis<ZonedDateTime> axis) {
+            final ZonedDateTimeAxis zonedAxis = (ZonedDateTimeAxis) axis;
+            final LocalDateTime lower = zonedAxis.localDateTime(axis.lowerBoundExact());
+            final LocalDateTime upper = zonedAxis.localDateTime(axis.upperBoundExact());
+            final TemporalLabelFormat newFormat = TemporalLabelFormat.of(
+                    TemporalLabelFormat.precision(axis.getUnit(), axis.getTickUnit()),
+                    TemporalLabelFormat.context(lower.getYear(), lower.getDayOfYear(), upper.getYear(), upper.getDayOfYear()));
+            if (newFormat == format) return false;
+            format = newFormat;
+            return true;
+        }
+
+        @Override
+        public String toString(ZonedDateTime temporal) {
+            return format(temporal.toLocalDateTime());
+        }
+
+        String format(LocalDateTime local) {
+            return format.format(local);
+        }
+    }
+}
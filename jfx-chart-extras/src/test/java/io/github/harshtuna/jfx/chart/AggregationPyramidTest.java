@@ -0,0 +1,186 @@
+/*
+ * AggregationPyramidTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AggregationPyramidTest {
+    private static final int SIZE = 10_000;
+    private final long[] x = new long[SIZE];
+    private final double[] y = new double[SIZE];
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    {
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = i * 3;
+            y[i] = Math.sin(i / 10.0) * 100;
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        final AggregationPyramid pyramid = AggregationPyramid.binary(4, 3);
+        pyramid.update(TemporalSeries.of("s", new long[]{-1, 0, 1, 3, 4, 9}, new double[]{5, 2, 7, 1, 3, 4}));
+        assertEquals(4, pyramid.bucketCount(0));
+        assertEquals(-4, pyramid.bucketStart(0, 0));
+        assertEquals(0, pyramid.bucketStart(0, 1));
+        assertEquals(3, pyramid.count(0, 1));
+        assertEquals(1, pyramid.min(0, 1), 0);
+        assertEquals(7, pyramid.max(0, 1), 0);
+        assertEquals(2, pyramid.first(0, 1), 0);
+        assertEquals(1, pyramid.last(0, 1), 0);
+        assertEquals(8, pyramid.bucketStart(0, 3));
+        assertEquals(3, pyramid.bucketCount(1));
+        assertEquals(2, pyramid.bucketCount(2));
+        assertEquals(5, pyramid.count(2, 1));
+    }
+
+    @Test
+    public void testIncrementalMatchesFullBuild() {
+        final AggregationPyramid full = AggregationPyramid.binary(2, 8);
+        full.update(TemporalSeries.of("s", x, y));
+
+        final AggregationPyramid incremental = AggregationPyramid.binary(2, 8);
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofDoubles("s");
+        for (int i = 0; i < SIZE; i++) {
+            series.append(x[i], y[i]);
+            if (i % 777 == 0) incremental.update(series);
+        }
+        incremental.update(series);
+        assertSame(full, incremental);
+
+        series.clear();
+        series.append(0, 1.0);
+        incremental.update(series);
+        assertEquals(1, incremental.bucketCount(7));
+    }
+
+    @Test
+    public void testLevelAndView() {
+        final AggregationPyramid pyramid = AggregationPyramid.calendar(ChronoUnit.SECONDS);
+        assertEquals(4, pyramid.levelCount());
+        assertEquals(3600, pyramid.width(2));
+        assertEquals(-1, pyramid.level(0.5));
+        assertEquals(1, pyramid.level(60));
+        assertEquals(3, pyramid.level(1e6));
+
+        pyramid.update(TemporalSeries.of("s", x, y));
+        final TemporalSeries view = pyramid.view(1);
+        assertEquals(pyramid.bucketCount(1) * 4, view.size());
+        for (int i = 1; i < view.size(); i++) {
+            assertTrue(view.x(i - 1) <= view.x(i));
+        }
+        assertEquals(-100, view.minY(), 1);
+        assertEquals(100, view.maxY(), 1);
+        assertEquals(pyramid.max(1, 0), view.y(2), 0);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final AggregationPyramid pyramid = AggregationPyramid.binary(1, 10);
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofDoubles("s");
+        series.appendAll(x, y);
+        pyramid.update(series);
+        final Path path = folder.getRoot().toPath().resolve("s.tpyr");
+        pyramid.write(path);
+
+        final AggregationPyramid read = AggregationPyramid.read(path);
+        assertSame(pyramid, read);
+        // carries on from the points it was saved with
+        series.append(x[SIZE - 1] + 1000, 500.0);
+        pyramid.update(series);
+        read.update(series);
+        assertSame(pyramid, read);
+    }
+
+    @Test
+    public void testCorruptFile() throws Exception {
+        final AggregationPyramid pyramid = AggregationPyramid.binary(1, 10);
+        pyramid.update(TemporalSeries.of("s", x, y));
+        final Path path = folder.getRoot().toPath().resolve("s.tpyr");
+        pyramid.write(path);
+        // level count at 6, bucket count of the first level at 48
+        assertCorrupt(path, 6, (short) -1);
+        assertCorrupt(path, 6, Short.MAX_VALUE);
+        assertCorrupt(path, 48, -1);
+        assertCorrupt(path, 48, Integer.MAX_VALUE);
+    }
+
+    private static void assertCorrupt(Path path, int position, int value) throws IOException {
+        final byte[] original = Files.readAllBytes(path);
+        final ByteBuffer bytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        if (position == 6) {
+            bytes.putShort((short) value);
+        } else {
+            bytes.putInt(value);
+        }
+        bytes.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+        try {
+            AggregationPyramid.read(path);
+            fail("Read with " + value + " at " + position);
+        } catch (IllegalArgumentException expected) {
+            // rejected before allocating
+        } finally {
+            Files.write(path, original);
+        }
+    }
+
+    private static void assertSame(AggregationPyramid expected, AggregationPyramid actual) {
+        assertEquals(expected.levelCount(), actual.levelCount());
+        for (int level = 0; level < expected.levelCount(); level++) {
+            final TemporalSeries e = expected.view(level);
+            final TemporalSeries a = actual.view(level);
+            assertEquals(expected.width(level), actual.width(level));
+            assertEquals(expected.bucketCount(level), actual.bucketCount(level));
+            final long[] ex = new long[e.size()];
+            final long[] ax = new long[a.size()];
+            final double[] ey = new double[e.size()];
+            final double[] ay = new double[a.size()];
+            for (int i = 0; i < ex.length; i++) {
+                ex[i] = e.x(i);
+                ax[i] = a.x(i);
+                ey[i] = e.y(i);
+                ay[i] = a.y(i);
+            }
+            assertArrayEquals(ex, ax);
+            assertArrayEquals(ey, ay, 0);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * BiTemporalSeriesTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BiTemporalSeriesTest {
+
+    @Test
+    public void testQueryMatchesScan() {
+        final Random random = new Random(42);
+        final int n = 20_000;
+        final long[] validFrom = new long[n];
+        final long[] validTo = new long[n];
+        final long[] recordedFrom = new long[n];
+        final long[] recordedTo = new long[n];
+        for (int i = 0; i < n; i++) {
+            validFrom[i] = random.nextInt(1_000_000);
+            validTo[i] = i % 100 == 0 ? Long.MAX_VALUE : validFrom[i] + random.nextInt(1000);
+            recordedFrom[i] = random.nextInt(1_000_000);
+            recordedTo[i] = i % 7 == 0 ? Long.MAX_VALUE : recordedFrom[i] + random.nextInt(5000);
+        }
+        final BiTemporalSeries series = BiTemporalSeries.of("s", validFrom, validTo, recordedFrom, recordedTo);
+        assertEquals(0, series.minValid(), 1000);
+        assertEquals(Long.MAX_VALUE, series.maxRecorded());
+        for (int q = 0; q < 50; q++) {
+            final long minX = random.nextInt(1_000_000);
+            final long maxX = minX + random.nextInt(50_000);
+            final long minY = random.nextInt(1_000_000);
+            final long maxY = minY + random.nextInt(50_000);
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (validTo[i] >= minX && validFrom[i] <= maxX && recordedTo[i] >= minY && recordedFrom[i] <= maxY) {
+                    expected.add(i);
+                }
+            }
+            final List<Integer> found = new ArrayList<>();
+            assertEquals(expected.size(), series.query(minX, maxX, minY, maxY, i -> found.add(series.sourceIndex(i))));
+            Collections.sort(found);
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testEmptyAndSingle() {
+        final BiTemporalSeries empty = BiTemporalSeries.of("e", new long[0], new long[0], new long[0], new long[0]);
+        assertEquals(0, empty.query(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, i -> {
+        }));
+        final BiTemporalSeries single = BiTemporalSeries.of("s", new long[]{5}, new long[]{5}, new long[]{1},
+                new long[]{Long.MAX_VALUE});
+        assertEquals(1, single.query(5, 5, 100, 200, i -> {
+        }));
+        assertEquals(0, single.query(6, 10, 0, 200, i -> {
+        }));
+        assertEquals(5, single.finiteMinValid());
+        assertEquals(5, single.finiteMaxValid());
+        assertEquals(1, single.finiteMinRecorded());
+        assertEquals(1, single.finiteMaxRecorded());
+        assertEquals(Long.MAX_VALUE, empty.finiteMinValid());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEndBeforeStart() {
+        BiTemporalSeries.of("s", new long[]{5}, new long[]{4}, new long[]{1}, new long[]{2});
+    }
+}
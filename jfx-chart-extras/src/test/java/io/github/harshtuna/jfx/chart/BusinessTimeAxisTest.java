@@ -0,0 +1,111 @@
+/*
+ * BusinessTimeAxisTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JfxRunner.class)
+public class BusinessTimeAxisTest {
+    public static final double DEFAULT_PRECISION = 0.00001;
+    private final LocalDateTime monday = LocalDateTime.of(2015, 8, 10, 9, 0);
+    private BusinessTimeAxis axis;
+
+    @Before
+    public void setUp() {
+        // 09:00 to 17:00 on weekdays, Wednesday is a holiday, 5 sessions of 480 minutes
+        final SessionCalendar calendar = SessionCalendar.builder()
+                .weekly(LocalDate.of(2015, 8, 10), LocalDate.of(2015, 8, 17), LocalTime.of(9, 0), LocalTime.of(17, 0),
+                        DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)
+                .holiday(LocalDate.of(2015, 8, 12))
+                .build();
+        assertEquals(5, calendar.size());
+        axis = new BusinessTimeAxis(monday, monday.plusDays(7).withHour(17), 240, ChronoUnit.MINUTES, calendar);
+        axis.calculateNewScale(2400);
+    }
+
+    @Test
+    public void testDisplayPosition() {
+        assertEquals(0, axis.getDisplayPosition(0L), DEFAULT_PRECISION);
+        assertEquals(480, axis.getDisplayPosition(axis.toLong(monday.withHour(17))), DEFAULT_PRECISION);
+        assertEquals(480, axis.getDisplayPosition(axis.toLong(monday.withHour(20))), DEFAULT_PRECISION); // night
+        assertEquals(480, axis.getDisplayPosition(axis.toLong(monday.plusDays(1))), DEFAULT_PRECISION);
+        assertEquals(1020, axis.getDisplayPosition(axis.toLong(monday.plusDays(3).withHour(10))), DEFAULT_PRECISION);
+        assertEquals(2400, axis.getDisplayPosition(axis.toLong(monday.plusDays(7).withHour(17))), DEFAULT_PRECISION);
+    }
+
+    @Test
+    public void testValueForDisplay() {
+        assertEquals(axis.toLong(monday.plusDays(3).withHour(10)), (long) axis.getValueForDisplay(1020));
+        assertEquals(axis.toLong(monday.plusDays(1)), (long) axis.getValueForDisplay(480));
+        assertTrue(axis.isInSession(axis.getValueForDisplay(1919.5)));
+        assertFalse(axis.isInSession(axis.toLong(monday.plusDays(2).withHour(10))));
+    }
+
+    @Test
+    public void testTicksWithinSessions() {
+        final long day = 24 * 60;
+        assertEquals(Arrays.asList(0L, 240L, day, day + 240, 3 * day, 3 * day + 240, 4 * day, 4 * day + 240,
+                7 * day, 7 * day + 240, 7 * day + 480),
+                axis.calculateTickValues(2400, axis.getRange()));
+
+        axis.setMinorTickCount(2);
+        for (long minor : axis.calculateMinorTickMarks()) {
+            assertTrue(minor + " in session", axis.isInSession(minor));
+        }
+    }
+
+    @Test
+    public void testTickLimit() {
+        final TemporalAxisMetrics metrics = new TemporalAxisMetrics();
+        axis.setMetricsListener(metrics);
+        axis.setTickUnit(1);
+        assertTrue(axis.calculateTickValues(2400, axis.getRange()).isEmpty());
+        assertEquals(1, metrics.getTickLimitWarningCount());
+    }
+
+    @Test
+    public void testTicksOverLongRange() {
+        // a year of weekday sessions with a 30 day tick unit, about one tick per unit rather than one per session
+        final LocalDate from = LocalDate.of(2015, 1, 5);
+        final SessionCalendar calendar = SessionCalendar.builder()
+                .weekly(from, from.plusYears(1), LocalTime.of(9, 0), LocalTime.of(17, 0),
+                        DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)
+                .build();
+        assertTrue(calendar.size() > 250);
+        final BusinessTimeAxis yearAxis = new BusinessTimeAxis(from.atTime(9, 0), from.plusYears(1).atTime(17, 0),
+                30 * 24 * 60, ChronoUnit.MINUTES, calendar);
+        yearAxis.calculateNewScale(2400);
+        final int ticks = yearAxis.calculateTickValues(2400, yearAxis.getRange()).size();
+        assertTrue(ticks + " ticks", ticks >= 12 && ticks <= 15);
+    }
+}
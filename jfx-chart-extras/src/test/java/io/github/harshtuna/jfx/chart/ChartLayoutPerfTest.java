@@ -0,0 +1,257 @@
+/*
+ * ChartLayoutPerfTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.stage.Stage;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Layout cost of line charts on temporal axes, run headless in the "perf" profile: mvn test -Pperf
+ * <p>
+ * Measures median layout time and allocated bytes per layout after a pan step, and pulses per second while a
+ * pan/zoom script runs. Fails when a result regresses past perf-baseline.properties by more than the tolerance
+ * (-Dperf.tolerance, 0.25 by default). Metrics missing from the baseline are not checked, a test with any of those is
+ * reported as skipped.
+ * Recording with -Dperf.record=true checks nothing and writes the results to target/perf-results.properties, copy
+ * them over the baseline to accept new numbers.
+ */
+@RunWith(JfxRunner.class)
+public class ChartLayoutPerfTest {
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    private static final String RESULTS = System.getProperty("perf.results", "target/perf-results.properties");
+    private static final List<Integer> SIZES = sizes(System.getProperty("perf.sizes", "1000,10000,100000,1000000"));
+    // larger series are fed through DecimatedSeries, as nobody charts a million nodes
+    private static final int RAW_SERIES_LIMIT = 100_000;
+    private static final int LAYOUT_RUNS = 21;
+    private static final long SCRIPT_MILLIS = 3000;
+    private static final int SCRIPT_STEP_PULSES = 60;
+    private static final boolean RECORD = Boolean.getBoolean("perf.record");
+
+    private static final Properties baseline = loadBaseline();
+    private static final Properties results = new Properties();
+
+    private final List<String> regressions = new ArrayList<>();
+    private final List<String> unchecked = new ArrayList<>();
+
+    @Test
+    public void testLocalDateTimeAxis() throws Exception {
+        final LocalDateTime base = LocalDateTime.of(2015, 8, 15, 18, 23, 1);
+        for (int size : SIZES) {
+            measure("LocalDateTimeAxis." + size, size, () -> new LocalDateTimeAxis(base, ChronoUnit.MINUTES));
+        }
+        assertTrue("Regressions: " + regressions, regressions.isEmpty());
+        assumeTrue("No baseline, record one with -Dperf.record=true: " + unchecked, unchecked.isEmpty());
+    }
+
+    @Test
+    public void testLocalDateAxis() throws Exception {
+        final LocalDate base = LocalDate.of(2015, 8, 15);
+        for (int size : SIZES) {
+            measure("LocalDateAxis." + size, size, () -> new LocalDateAxis(base, ChronoUnit.DAYS));
+        }
+        assertTrue("Regressions: " + regressions, regressions.isEmpty());
+        assumeTrue("No baseline, record one with -Dperf.record=true: " + unchecked, unchecked.isEmpty());
+    }
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        if (!RECORD) return;
+        try (OutputStream out = new FileOutputStream(RESULTS)) {
+            results.store(out, "ChartLayoutPerfTest results, copy to src/test/resources/perf-baseline.properties");
+        }
+    }
+
+    private void measure(String name, int size, Supplier<TemporalAxis<?>> axisFactory) throws Exception {
+        final long[] x = new long[size];
+        final double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 100.0) * 100 + i % 7;
+        }
+        final TemporalAxis<?> axis = onFx(axisFactory::get);
+        final LineChart<Long, Number> chart = onFx(() -> createChart(axis, x, y));
+        try {
+            // pan by one percent, then a full layout
+            final long[] layoutNanos = new long[LAYOUT_RUNS];
+            final long[] allocatedBytes = new long[LAYOUT_RUNS];
+            final boolean allocationSupported = allocatedBytes() >= 0;
+            onFx(() -> {
+                for (int i = 0; i < LAYOUT_RUNS; i++) {
+                    final long bytes = allocatedBytes();
+                    final long start = System.nanoTime();
+                    pan(axis, 0.01);
+                    chart.layout();
+                    layoutNanos[i] = System.nanoTime() - start;
+                    allocatedBytes[i] = allocatedBytes() - bytes;
+                }
+                return null;
+            });
+            check(name + ".layoutNanos", median(layoutNanos), true);
+            if (allocationSupported) check(name + ".layoutBytes", median(allocatedBytes), true);
+            check(name + ".pulsesPerSecond", pulsesPerSecond(axis), false);
+        } finally {
+            onFx(() -> {
+                chart.getScene().getWindow().hide();
+                return null;
+            });
+        }
+    }
+
+    private static LineChart<Long, Number> createChart(TemporalAxis<?> axis, long[] x, double[] y) {
+        axis.setAutoRanging(false);
+        axis.setLowerBound(x[0]);
+        axis.setUpperBound(x[x.length - 1] / 10);
+        final LineChart<Long, Number> chart = new LineChart<>(axis, new NumberAxis());
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false);
+        if (x.length <= RAW_SERIES_LIMIT) {
+            chart.getData().add(ChartSeries.series("raw", x, y));
+        } else {
+            final DecimatedSeries series = new DecimatedSeries("decimated", axis, Decimator.Mode.M4);
+            series.setData(x, y);
+            chart.getData().add(series.getSeries());
+        }
+        final Stage stage = new Stage();
+        stage.setScene(new Scene(chart, 800, 600));
+        stage.show();
+        chart.layout();
+        return chart;
+    }
+
+    /**
+     * Runs the pan/zoom script for a while, one step per pulse
+     */
+    private static double pulsesPerSecond(TemporalAxis<?> axis) throws Exception {
+        final int[] pulses = {0};
+        final AnimationTimer script = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                final int phase = pulses[0]++ / SCRIPT_STEP_PULSES % 3;
+                if (phase == 0) {
+                    pan(axis, 0.01);
+                } else {
+                    zoom(axis, phase == 1 ? 0.98 : 1 / 0.98);
+                }
+            }
+        };
+        final long start = onFx(() -> {
+            script.start();
+            return System.nanoTime();
+        });
+        Thread.sleep(SCRIPT_MILLIS);
+        final long end = onFx(() -> {
+            script.stop();
+            return System.nanoTime();
+        });
+        return pulses[0] * 1e9 / (end - start);
+    }
+
+    private static void pan(TemporalAxis<?> axis, double fraction) {
+        final double shift = Math.max(1, Math.floor((axis.getUpperBound() - axis.getLowerBound()) * fraction));
+        axis.setLowerBound(axis.getLowerBound() + shift);
+        axis.setUpperBound(axis.getUpperBound() + shift);
+    }
+
+    private static void zoom(TemporalAxis<?> axis, double factor) {
+        final double center = (axis.getLowerBound() + axis.getUpperBound()) / 2;
+        final double half = Math.max(1, Math.floor((axis.getUpperBound() - axis.getLowerBound()) * factor / 2));
+        axis.setLowerBound(center - half);
+        axis.setUpperBound(center + half);
+    }
+
+    private void check(String key, double value, boolean higherIsWorse) {
+        results.setProperty(key, String.valueOf(value));
+        if (RECORD) return;
+        final String expected = baseline.getProperty(key);
+        if (expected == null) {
+            unchecked.add(key + "=" + value);
+            return;
+        }
+        final double limit = Double.parseDouble(expected) * (higherIsWorse ? 1 + TOLERANCE : 1 - TOLERANCE);
+        if (higherIsWorse ? value > limit : value < limit) {
+            regressions.add(key + "=" + value + " (baseline " + expected + ")");
+        }
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far, or -1 if not supported by the JVM
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static double median(long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static <V> V onFx(Callable<V> callable) throws Exception {
+        final FutureTask<V> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+        return task.get();
+    }
+
+    private static List<Integer> sizes(String sizes) {
+        final List<Integer> result = new ArrayList<>();
+        for (String size : sizes.split(",")) {
+            result.add(Integer.parseInt(size.trim()));
+        }
+        return result;
+    }
+
+    private static Properties loadBaseline() {
+        final Properties properties = new Properties();
+        try (InputStream in = ChartLayoutPerfTest.class.getResourceAsStream("/perf-baseline.properties")) {
+            if (in != null) properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read perf baseline", e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * DecimatedSeriesTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JfxRunner.class)
+public class DecimatedSeriesTest {
+    private static final int SIZE = 100_000;
+    private final LocalDateTimeAxis axis = new LocalDateTimeAxis(LocalDateTime.of(2015, 8, 15, 0, 0), ChronoUnit.SECONDS);
+    private final long[] x = new long[SIZE];
+    private final double[] y = new double[SIZE];
+
+    @Before
+    public void setUp() {
+        axis.setAutoRanging(false);
+        axis.setLowerBound(0);
+        axis.setUpperBound(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 100.0);
+        }
+    }
+
+    @Test
+    public void testStaleJobCancelled() {
+        final List<Runnable> jobs = new ArrayList<>();
+        final DecimatedSeries series = new DecimatedSeries("s", axis, Decimator.Mode.M4);
+        series.setExecutor(jobs::add);
+        series.publisher = Runnable::run;
+        series.setData(x, y);
+        assertTrue(series.isJobPending());
+        assertEquals(1, jobs.size());
+        assertEquals(0, series.getSeries().getData().size());
+
+        // new data before the first job ran
+        series.setData(x, new double[SIZE]);
+        assertEquals(2, jobs.size());
+        assertTrue(((Future<?>) jobs.get(0)).isCancelled());
+        jobs.get(0).run();
+        assertEquals(0, series.getSeries().getData().size());
+
+        jobs.get(1).run();
+        assertFalse(series.isJobPending());
+        assertTrue(series.getSeries().getData().size() > 0);
+        assertEquals(0.0, series.getSeries().getData().get(0).getYValue());
+    }
+
+    @Test
+    public void testPointsReused() {
+        final DecimatedSeries series = new DecimatedSeries("s", axis, Decimator.Mode.LTTB);
+        series.setData(x, y);
+        final int size = series.getSeries().getData().size();
+        final Object first = series.getSeries().getData().get(1);
+
+        final double[] negated = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            negated[i] = -y[i];
+        }
+        series.setData(x, negated);
+        assertEquals(size, series.getSeries().getData().size());
+        assertSame(first, series.getSeries().getData().get(1));
+        assertEquals(-y[(int) (long) series.getSeries().getData().get(1).getXValue()],
+                series.getSeries().getData().get(1).getYValue().doubleValue(), 0);
+        series.dispose();
+    }
+
+    @Test
+    public void testBackgroundMatchesFxThread() throws Exception {
+        final DecimatedSeries onFx = new DecimatedSeries("fx", axis, Decimator.Mode.LTTB);
+        onFx.setData(x, y);
+
+        final CountDownLatch published = new CountDownLatch(1);
+        final DecimatedSeries background = new DecimatedSeries("background", axis, Decimator.Mode.LTTB);
+        background.setExecutor(ChartExecutors.background());
+        background.publisher = runnable -> {
+            runnable.run();
+            published.countDown();
+        };
+        background.setData(x, y);
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        assertEquals(onFx.getSeries().getData().size(), background.getSeries().getData().size());
+        for (int i = 0; i < onFx.getSeries().getData().size(); i++) {
+            assertEquals(onFx.getSeries().getData().get(i).getXValue(), background.getSeries().getData().get(i).getXValue());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * DecimatorTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecimatorTest {
+    public static final double DEFAULT_PRECISION = 0.00001;
+    private static final int SIZE = 10000;
+    long[] x;
+    double[] y;
+
+    @Before
+    public void setUp() {
+        x = new long[SIZE];
+        y = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = 1_000_000_000_000L + i * 10L;
+            y[i] = Math.sin(i / 100.0);
+        }
+        y[5000] = 7; // spike
+    }
+
+    @Test
+    public void testLttbKeepsEndsAndSpike() {
+        final long[] outX = new long[100];
+        final double[] outY = new double[100];
+
+        final int n = Decimator.lttb(x, y, 0, SIZE, 100, outX, outY);
+
+        assertEquals(100, n);
+        assertEquals(x[0], outX[0]);
+        assertEquals(x[SIZE - 1], outX[n - 1]);
+        assertTrue(contains(outX, n, x[5000]));
+        assertSorted(outX, n);
+    }
+
+    @Test
+    public void testLttbBelowThresholdCopies() {
+        final long[] outX = new long[100];
+        final double[] outY = new double[100];
+
+        assertEquals(50, Decimator.lttb(x, y, 10, 60, 100, outX, outY));
+        assertArrayEquals(Arrays.copyOfRange(x, 10, 60), Arrays.copyOf(outX, 50));
+    }
+
+    @Test
+    public void testM4KeepsEnvelope() {
+        final int pixels = 100;
+        final long[] outX = new long[Decimator.capacity(Decimator.Mode.M4, pixels)];
+        final double[] outY = new double[outX.length];
+
+        final int n = Decimator.m4(x, y, 0, SIZE, x[0], x[SIZE - 1], pixels, outX, outY);
+
+        assertTrue(n <= 4 * (pixels + 1));
+        assertEquals(x[0], outX[0]);
+        assertEquals(x[SIZE - 1], outX[n - 1]);
+        assertSorted(outX, n);
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, outY[i]);
+            max = Math.max(max, outY[i]);
+        }
+        assertEquals(7, max, DEFAULT_PRECISION);
+        assertEquals(-1, min, 0.001);
+    }
+
+    private static boolean contains(long[] values, int n, long value) {
+        for (int i = 0; i < n; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static void assertSorted(long[] values, int n) {
+        for (int i = 1; i < n; i++) {
+            assertTrue("not sorted at " + i, values[i - 1] < values[i]);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * InstantAxisTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JfxRunner.class)
+public class InstantAxisTest {
+    private final Instant instant = Instant.parse("2015-08-15T18:23:01.500Z");
+
+    @Test
+    public void testEpochValues() {
+        final InstantAxis axis = new InstantAxis(ChronoUnit.MILLIS);
+
+        assertEquals(instant.toEpochMilli(), axis.toLong(instant));
+        assertEquals(instant, axis.toTemporal(instant.toEpochMilli()));
+        assertEquals(-1, axis.toLong(Instant.EPOCH.minusMillis(1)));
+        assertEquals(instant.toEpochMilli(), axis.parse("2015-08-15T18:23:01.500Z"));
+        assertEquals("2015-08-15T18:23:01.500Z", axis.getTickMarkLabel(instant.toEpochMilli()));
+    }
+
+    @Test
+    public void testNanosBeyondDoublePrecision() {
+        final long nanos = instant.getEpochSecond() * 1_000_000_000L + 1;
+        final InstantAxis axis = new InstantAxis(nanos, nanos + 1000, 100, ChronoUnit.NANOS);
+
+        assertEquals(nanos, axis.getValueForDisplay(axis.displayPosition(nanos)).longValue());
+        assertEquals(nanos + 1, axis.toLong(Instant.ofEpochSecond(instant.getEpochSecond(), 2)));
+    }
+
+    @Test
+    public void testAdaptiveFormatterAcrossTransition() {
+        // DST ended at 03:00 CEST on 2015-10-25
+        final Instant end = Instant.parse("2015-10-25T00:30:00Z");
+        final InstantAxis axis = new InstantAxis(end, end.plusSeconds(3600 * 2), 30, ChronoUnit.MINUTES);
+        axis.setTemporalLabelFormatter(new InstantAxis.AdaptiveInstantFormatter(axis, ZoneId.of("Europe/Berlin")));
+
+        final long start = axis.toLong(end);
+        assertEquals("02:30", axis.getTickMarkLabel(start));
+        assertEquals("02:30", axis.getTickMarkLabel(start + 60));
+        assertEquals("04:30", axis.getTickMarkLabel(start + 180));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCalendarUnit() {
+        new InstantAxis(ChronoUnit.MONTHS);
+    }
+}
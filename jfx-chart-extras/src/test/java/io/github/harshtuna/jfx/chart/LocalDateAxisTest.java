@@ -0,0 +1,86 @@
+/*
+ * LocalDateAxisTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JfxRunner.class)
+public class LocalDateAxisTest {
+    private final LocalDate base = LocalDate.of(2015, 7, 5);
+
+    @Test
+    public void testToLongMatchesTemporalArithmetic() {
+        final LocalDate[] values = {
+                base, base.plusDays(1), base.minusDays(1), base.plusDays(13), base.minusDays(13),
+                base.plusYears(3).plusDays(2), base.minusYears(400).minusDays(6)
+        };
+        for (ChronoUnit unit : new ChronoUnit[]{ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS}) {
+            final LocalDateAxis axis = new LocalDateAxis(base, unit);
+            for (LocalDate value : values) {
+                final long expected = base.until(value, unit);
+                assertEquals(unit + " " + value, expected, axis.toLong(value));
+                assertEquals(unit + " " + value, base.plus(expected, unit), axis.toTemporal(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testParse() {
+        final LocalDateAxis axis = new LocalDateAxis(base, ChronoUnit.DAYS);
+
+        assertEquals(2, axis.parse("2015-07-07"));
+        assertEquals(-5, axis.parse("2015-06-30"));
+        assertEquals(LocalDate.of(2016, 2, 29).toEpochDay() - base.toEpochDay(), axis.parse("2016-02-29"));
+        assertEquals(LocalDate.of(-1, 1, 1).toEpochDay() - base.toEpochDay(), axis.parse("-0001-01-01"));
+        assertEquals(LocalDate.of(10000, 1, 1).toEpochDay() - base.toEpochDay(), axis.parse("+10000-01-01"));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void testParseInvalidDate() {
+        new LocalDateAxis(base, ChronoUnit.DAYS).parse("2015-02-29");
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void testParseEmptyField() {
+        // an empty field at the end of the text
+        new LocalDateAxis(base, ChronoUnit.DAYS).parse("2015-07-05,", 11, 11);
+    }
+
+    @Test
+    public void testAdaptiveFormatter() {
+        final LocalDateAxis axis = new LocalDateAxis(base, base.plusDays(20), 5, ChronoUnit.DAYS);
+        axis.setTemporalLabelFormatter(new LocalDateAxis.AdaptiveLdFormatter(axis));
+        assertEquals("07-05", axis.getTickMarkLabel(0L));
+
+        axis.setUpperBound(400);
+        assertEquals("2015-07-05", axis.getTickMarkLabel(0L));
+
+        axis.setTickUnit(31);
+        assertEquals("2015-07", axis.getTickMarkLabel(0L));
+        assertEquals(base, axis.getTemporalLabelFormatter().fromString("2015-07-05"));
+    }
+}
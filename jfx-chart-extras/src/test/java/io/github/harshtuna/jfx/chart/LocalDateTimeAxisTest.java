@@ -19,19 +19,36 @@
 package io.github.harshtuna.jfx.chart;
 
 import de.saxsys.javafx.test.JfxRunner;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Dimension2D;
 import javafx.geometry.Side;
+import javafx.scene.chart.Axis;
+import javafx.scene.chart.XYChart;
+import javafx.util.StringConverter;
+import javafx.util.converter.LocalDateTimeStringConverter;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedList;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(JfxRunner.class)
 public class LocalDateTimeAxisTest {
@@ -73,7 +90,25 @@ public class LocalDateTimeAxisTest {
         assertEquals(expected, tickValues);
     }
 
-    @Ignore //fixme
+    @Test
+    public void testCalculateTickValuesReusesBuffer() {
+        final List<Long> tickValues = axis.calculateTickValues(100, axis.getRange());
+
+        assertSame(tickValues, axis.calculateTickValues(100, new TemporalAxis.Range(0L, 40L, 20L, 2.5)));
+        assertEquals(Arrays.asList(0L, 20L, 40L), tickValues);
+        assertArrayEquals(new long[]{0L, 20L, 40L}, axis.getTickValues().toArray());
+    }
+
+    @Test
+    public void testCalculateMinorTickMarks() {
+        axis.setMinorTickCount(5);
+        final List<Long> minorTickMarks = axis.calculateMinorTickMarks();
+
+        assertEquals(Arrays.asList(2L, 4L, 6L, 8L, 12L, 14L, 16L, 18L), minorTickMarks);
+        assertEquals(8, axis.getMinorTickValues().size());
+        assertEquals(18L, axis.getMinorTickValues().get(7));
+    }
+
     @Test
     public void testAutoRangeVertical() throws Exception {
         axis = new AxisInspector(lowerBound, chronoUnit);
@@ -84,7 +119,7 @@ public class LocalDateTimeAxisTest {
         axis.invalidateRange(Arrays.asList(minValue, 10L, 15L, maxValue));
 
         int labelSize = 5;
-        Object expected = new TemporalAxis.Range(-54L, 60L, 6L, -4.38596);
+        Object expected = new TemporalAxis.Range(-50L, 60L, 10L, -4.545455);
         assertEquals(expected, axis.autoRange(minValue, maxValue, 500, labelSize));
     }
 
@@ -98,7 +133,7 @@ public class LocalDateTimeAxisTest {
         axis.invalidateRange(Arrays.asList(minValue, maxValue));
 
         int labelSize = 5;
-        Object expected = new TemporalAxis.Range(-58L, 58L, 29L, 4.310344);
+        Object expected = new TemporalAxis.Range(-60L, 60L, 30L, 4.166667);
         assertEquals(expected, axis.autoRange(minValue, maxValue, 500, labelSize));
     }
 
@@ -121,6 +156,21 @@ public class LocalDateTimeAxisTest {
         assertEquals(range, axis.getRange());
     }
 
+    @Test
+    public void testSetRangeCoalescesAnimations() throws Exception {
+        final TemporalAxis.Range range = new TemporalAxis.Range(20L, 60L, 10L, 2.5);
+
+        for (int i = 0; i < 50; i++) {
+            axis.setRange(new TemporalAxis.Range(i, 40L + i, 5L, 2.5), true);
+        }
+        axis.setRange(range, true);
+        assertEquals(60, axis.getUpperBound(), DEFAULT_PRECISION); // bounds are set at once
+        Thread.sleep(800); //wait for animation
+
+        assertEquals(range, axis.getRange());
+        assertEquals(0, axis.getDisplayPosition(20L), DEFAULT_PRECISION); // animation reached the last range
+    }
+
 
     @Test
     public void testGetRange() throws Exception {
@@ -129,6 +179,19 @@ public class LocalDateTimeAxisTest {
     }
 
 
+    @Test
+    public void testRangeBeyondDoublePrecision() {
+        final long lower = (1L << 60) + 1;
+        axis.setRange(new TemporalAxis.Range(lower, lower + 1000, 100, 0.1), false);
+
+        assertEquals(new TemporalAxis.Range(lower, lower + 1000, 100, 0.1), axis.getRange());
+        assertSame(axis.getRange(), axis.getRange());
+        assertEquals(50, axis.displayPosition(lower + 500), DEFAULT_PRECISION);
+        assertEquals(0.1, axis.getDisplayPosition(lower + 1), DEFAULT_PRECISION);
+        assertEquals(lower + 500, (long) axis.getValueForDisplay(50));
+        assertEquals(lower + 100, (long) axis.calculateTickValues(100, axis.getRange()).get(1));
+    }
+
     @Test
     public void testGetDisplayPosition() throws Exception {
         double v = axis.getDisplayPosition(5L);
@@ -167,11 +230,290 @@ public class LocalDateTimeAxisTest {
         assertEquals("2015-08-15T18:23:01", axis.getTickMarkLabel(lowerBound));
     }
 
+    @Test
+    public void testTickMarkLabelCache() {
+        assertEquals("2015-08-15T18:23:01", axis.getTickMarkLabel(0L));
+        final long hits = axis.getLabelCacheHits();
+        final long misses = axis.getLabelCacheMisses();
+
+        assertEquals("2015-08-15T18:23:01", axis.getTickMarkLabel(0L));
+        assertEquals(hits + 1, axis.getLabelCacheHits());
+        assertEquals(misses, axis.getLabelCacheMisses());
+
+        axis.setTemporalLabelFormatter(new LocalDateTimeStringConverter(
+                DateTimeFormatter.ISO_LOCAL_TIME, DateTimeFormatter.ISO_LOCAL_TIME));
+        assertEquals("18:23:01", axis.getTickMarkLabel(0L));
+        assertEquals(misses + 1, axis.getLabelCacheMisses());
+    }
+
+    @Test
+    public void testAdaptiveFormatter() {
+        axis.setTemporalLabelFormatter(new LocalDateTimeAxis.AdaptiveLdtFormatter(axis));
+        assertEquals("18:23", axis.getTickMarkLabel(0L));
+
+        axis.setUpperBound(60 * 24 * 2);
+        assertEquals("08-15 18:23", axis.getTickMarkLabel(0L));
+
+        axis.setTickUnit(0);
+        assertEquals("08-15 18:24", axis.getTickMarkLabel(1L));
+
+        final LocalDateTimeAxis nanoAxis = new LocalDateTimeAxis(lowerBound, lowerBound.plusNanos(100), 10, ChronoUnit.NANOS);
+        nanoAxis.setTemporalLabelFormatter(new LocalDateTimeAxis.AdaptiveLdtFormatter(nanoAxis));
+        assertEquals("18:23:01.000000010", nanoAxis.getTickMarkLabel(10L));
+    }
+
+    @Test
+    public void testReplacedFormatterDetached() {
+        final int[] updates = {0, 0};
+        axis.setTemporalLabelFormatter(new CountingFormatter(axis, updates, 0));
+        axis.setTemporalLabelFormatter(new CountingFormatter(axis, updates, 1));
+        final int replacedUpdates = updates[0];
+        final int installedUpdates = updates[1];
+        axis.setUpperBound(60 * 24 * 2);
+        axis.setTickUnit(60);
+        assertEquals(replacedUpdates, updates[0]);
+        assertEquals(installedUpdates + 2, updates[1]);
+    }
+
+    @Test
+    public void testCullOverlappingLabels() {
+        final LocalDateTimeAxis fixedLabels = new LocalDateTimeAxis(lowerBound, lowerBound.plusMinutes(80), 10,
+                ChronoUnit.MINUTES) {
+            @Override
+            protected Dimension2D measureTickMarkSize(long tick, double rotation) {
+                return new Dimension2D(40, 10);
+            }
+        };
+        fixedLabels.setSide(Side.BOTTOM);
+        fixedLabels.calculateNewScale(200);
+        // 40 px labels 25 px apart, every other one fits
+        final boolean[] expected = {true, false, true, false, true, false, true, false, true};
+        assertArrayEquals(expected, culledVisibility(fixedLabels, false));
+
+        fixedLabels.inverse();
+        assertArrayEquals(expected, culledVisibility(fixedLabels, true));
+    }
+
+    private static boolean[] culledVisibility(LocalDateTimeAxis axis, boolean descending) {
+        final List<Axis.TickMark<Long>> tickMarks = new ArrayList<>();
+        for (int i = 0; i <= 8; i++) {
+            final Axis.TickMark<Long> m = new Axis.TickMark<>();
+            m.setValue(i * 10L);
+            m.setPosition(descending ? 200 - i * 25 : i * 25);
+            tickMarks.add(m);
+        }
+        axis.cullOverlappingLabels(tickMarks);
+        final boolean[] visible = new boolean[tickMarks.size()];
+        for (int i = 0; i < visible.length; i++) {
+            visible[i] = tickMarks.get(i).isTextVisible();
+        }
+        return visible;
+    }
+
     @Test
     public void testParse() {
         assertEquals(0, axis.parse(lowerBound.toString()));
     }
 
+    @Test
+    public void testParseMatchesFormatter() {
+        final LocalDateTime base = lowerBound.plusNanos(500_000_000);
+        final String[] values = {
+                "2015-08-15T18:23", "2015-08-15T18:23:01.5", "2016-02-29T00:00:59.000000001", "1969-12-31T23:59:59.999",
+                "-0005-03-01T12:00:00", "+12015-08-15T18:23:01.123456"
+        };
+        for (ChronoUnit unit : EnumSet.range(ChronoUnit.NANOS, ChronoUnit.DAYS)) {
+            final LocalDateTimeAxis fastAxis = new LocalDateTimeAxis(base, unit);
+            // nanosecond offsets overflow beyond 292 years
+            for (String value : unit == ChronoUnit.NANOS ? Arrays.copyOf(values, 4) : values) {
+                assertEquals(unit + " " + value, fastAxis.toLong(LocalDateTime.parse(value)), fastAxis.parse(value));
+            }
+        }
+        for (String invalid : new String[]{"2015-08-15", "2015-08-15T24:00", "2015-08-15T18:23:01.", "2015-8-15T18:23",
+                "2015-08-15T18:23:01.1234567890", "+2015-08-15T18:23", "2015-08-15 18:23"}) {
+            try {
+                axis.parse(invalid);
+                fail(invalid);
+            } catch (DateTimeParseException expected) {
+                // as the formatter
+            }
+        }
+    }
+
+    @Test
+    public void testParseLines() {
+        // over two default chunks, so the text is split and parsed in parallel
+        final int lines = TemporalAxis.PARSE_CHUNK_CHARS / 8;
+        final StringBuilder text = linesText(lines);
+        assertTrue(text.length() > 2 * TemporalAxis.PARSE_CHUNK_CHARS);
+        assertParsedLines(lines, axis.parseLines(text));
+        assertArrayEquals(new long[]{0, 1}, axis.parseLines(lowerBound + "\n\n" + lowerBound.plusMinutes(1)));
+    }
+
+    @Test
+    public void testParseLinesChunkEdges() {
+        final int lines = 200;
+        final StringBuilder text = linesText(lines);
+        // a line starting exactly at the chunk edge, chunk edges in the middle of lines, empty chunks
+        final int edge = text.indexOf(lowerBound.plusMinutes(10).toString());
+        assertEquals('\n', text.charAt(edge - 1));
+        for (int chunkChars : new int[]{edge, edge - 1, edge + 1, 7, 1}) {
+            assertParsedLines(lines, axis.parseLines(text, chunkChars));
+        }
+    }
+
+    private StringBuilder linesText(int lines) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append(lowerBound.plusMinutes(i)).append(i % 2 == 0 ? ",1.5\r\n" : "\n");
+            if (i % 1000 == 0) text.append('\n');
+        }
+        return text;
+    }
+
+    private static void assertParsedLines(int lines, long[] values) {
+        assertEquals(lines, values.length);
+        for (int i = 0; i < lines; i++) {
+            assertEquals(i, values[i]);
+        }
+    }
+
+    @Test
+    public void testToLongMatchesTemporalArithmetic() {
+        final LocalDateTime base = lowerBound.plusNanos(500_000_000);
+        final LocalDateTime[] values = {
+                base, base.plusNanos(1), base.minusNanos(1), base.plusSeconds(1).minusNanos(600_000_000),
+                base.minusDays(3).plusHours(5), base.plusYears(2).plusNanos(123_456_789), base.minusYears(50).minusNanos(7)
+        };
+        for (ChronoUnit unit : EnumSet.range(ChronoUnit.NANOS, ChronoUnit.YEARS)) {
+            final LocalDateTimeAxis fastAxis = new LocalDateTimeAxis(base, unit);
+            for (LocalDateTime value : values) {
+                final long expected = base.until(value, unit);
+                assertEquals(unit + " " + value, expected, fastAxis.toLong(value));
+                // LocalDateTime.plus(n, HALF_DAYS) is broken for n >= 256 in JDK 8, compare time units by duration
+                final LocalDateTime expectedTemporal = unit.isTimeBased()
+                        ? base.plus(unit.getDuration().multipliedBy(expected))
+                        : base.plus(expected, unit);
+                assertEquals(unit + " " + value, expectedTemporal, fastAxis.toTemporal(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testToLongArray() {
+        final LocalDateTime[] values = new LocalDateTime[TemporalAxis.BULK_CHUNK_SIZE * 3 + 1];
+        final long[] expected = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = lowerBound.plus(i - 100, chronoUnit);
+            expected[i] = i - 100;
+        }
+
+        assertArrayEquals(expected, axis.toLongArray(values));
+        assertArrayEquals(expected, axis.toLongArray(Arrays.asList(values)));
+        assertArrayEquals(expected, axis.toLongArray(Arrays.stream(values).parallel()));
+        assertArrayEquals(new long[]{-100, -99}, axis.toLongArray(new LinkedList<>(Arrays.asList(values[0], values[1]))));
+    }
+
+    @Test
+    public void testSeriesFromColumns() {
+        final XYChart.Series<Long, Number> series = ChartSeries.series("s", new long[]{1, 2}, new double[]{.5, 1.5});
+        assertEquals(2, series.getData().size());
+        assertEquals(2L, (long) series.getData().get(1).getXValue());
+
+        final int[] changes = {0};
+        series.getData().addListener((ListChangeListener<XYChart.Data<Long, Number>>) c -> changes[0]++);
+        ChartSeries.setAll(series, new long[]{1, 2, 3}, new double[]{1, 2, 3});
+        assertEquals(1, changes[0]);
+        assertEquals(3, series.getData().size());
+    }
+
+    @Test
+    public void testFollow() {
+        axis.follow(5);
+        assertEquals(0, axis.getLowerBound(), DEFAULT_PRECISION); // follow mode disabled
+
+        axis.setFollowDuration(15);
+        axis.follow(5);
+        axis.follow(12);
+        assertEquals(0, axis.getLowerBound(), DEFAULT_PRECISION);
+        assertEquals(20, axis.getUpperBound(), DEFAULT_PRECISION);
+
+        axis.follow(25); // 5 leaves the window, 25 crosses the upper bound
+        assertEquals(10, axis.getLowerBound(), DEFAULT_PRECISION);
+        assertEquals(30, axis.getUpperBound(), DEFAULT_PRECISION);
+        assertEquals(10, axis.getTickUnit(), DEFAULT_PRECISION);
+
+        axis.follow(26); // no tick mark crossed
+        assertEquals(10, axis.getLowerBound(), DEFAULT_PRECISION);
+
+        axis.follow(29); // 12 leaves the window, min crosses the tick at 20
+        assertEquals(20, axis.getLowerBound(), DEFAULT_PRECISION);
+        assertEquals(30, axis.getUpperBound(), DEFAULT_PRECISION);
+    }
+
+    @Test
+    public void testFollowRestoresAutoRanging() {
+        axis.setAutoRanging(true);
+        axis.setFollowDuration(15);
+        assertFalse(axis.isAutoRanging());
+        axis.setFollowDuration(30);
+        axis.setFollowDuration(0);
+        assertTrue(axis.isAutoRanging());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final TemporalAxisMetrics metrics = new TemporalAxisMetrics();
+        axis.setMetricsListener(metrics);
+        axis.setMinorTickCount(5);
+        axis.calculateTickValues(100, axis.getRange());
+        axis.calculateMinorTickMarks();
+        axis.calculateTickValues(100, new TemporalAxis.Range(0L, 100000L, 1L, .001));
+
+        assertEquals(3 + 1, metrics.getTickCount());
+        assertEquals(8, metrics.getMinorTickCount());
+        assertEquals(1, metrics.getTickLimitWarningCount());
+
+        axis.measureTickMarkSize(0, 0);
+        axis.measureTickMarkSize(0, 0); // from the label cache
+        assertEquals(1, metrics.getTickLabelMeasureCount());
+
+        metrics.register("test");
+        try {
+            final ObjectName name = new ObjectName("io.github.harshtuna.jfx.chart:type=TemporalAxis,name=\"test\"");
+            assertEquals(4L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TickCount"));
+        } finally {
+            metrics.unregister();
+        }
+        metrics.reset();
+        assertEquals(0, metrics.getTickCount());
+    }
+
+    @Test
+    public void testTickMemo() {
+        final TemporalAxisMetrics metrics = new TemporalAxisMetrics();
+        axis.setMetricsListener(metrics);
+        final List<Long> tickValues = axis.calculateTickValues(100, axis.getRange());
+        assertSame(tickValues, axis.calculateTickValues(100, new TemporalAxis.Range(0L, 20L, 10L, 5.0000001)));
+        assertEquals(3, metrics.getTickCount());
+        assertEquals(1, metrics.getTickMemoHitCount());
+
+        axis.calculateTickValues(200, axis.getRange()); // length changed
+        assertEquals(6, metrics.getTickCount());
+
+        axis.setMinorTickCount(5);
+        axis.calculateMinorTickMarks();
+        axis.calculateMinorTickMarks();
+        assertEquals(8, metrics.getMinorTickCount());
+        assertEquals(2, metrics.getTickMemoHitCount());
+
+        axis.setMinorTickCount(2);
+        assertEquals(Arrays.asList(5L, 15L), axis.calculateMinorTickMarks());
+        axis.setUpperBound(30);
+        assertEquals(Arrays.asList(5L, 15L, 25L), axis.calculateMinorTickMarks());
+        assertEquals(2, metrics.getTickMemoHitCount());
+    }
+
     @Test
     public void testInverseHorizontal() {
         axis.setSide(Side.BOTTOM);
@@ -213,4 +555,29 @@ public class LocalDateTimeAxisTest {
         }
     }
 
+    /**
+     * Counts format updates into the given slot
+     */
+    private static class CountingFormatter extends TemporalAxis.DefaultFormatter<LocalDateTime> {
+        private final int[] updates;
+        private final int slot;
+
+        CountingFormatter(LocalDateTimeAxis axis, int[] updates, int slot) {
+            super(axis);
+            this.updates = updates;
+            this.slot = slot;
+        }
+
+        @Override
+        protected StringConverter<LocalDateTime> getFormatter() {
+            return new LocalDateTimeStringConverter();
+        }
+
+        @Override
+        protected boolean updateFormat(TemporalAxis<LocalDateTime> axis) {
+            updates[slot]++;
+            return false;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+ * MappedTemporalSeriesTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JfxRunner.class)
+public class MappedTemporalSeriesTest {
+    private final LocalDateTime base = LocalDateTime.of(2015, 8, 15, 18, 23, 1);
+    private final LocalDateTimeAxis axis = new LocalDateTimeAxis(base, ChronoUnit.SECONDS);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndMap() throws Exception {
+        final long[] x = new long[1000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i * 3;
+            y[i] = Math.sin(i);
+        }
+        final TemporalSeries source = TemporalSeries.of("s", x, y);
+        final Path path = folder.getRoot().toPath().resolve("s.tser");
+        TemporalSeriesFile.write(path, axis, source);
+
+        try (MappedTemporalSeries series = MappedTemporalSeries.open(path)) {
+            assertEquals(base, series.getBase());
+            assertEquals(ChronoUnit.SECONDS, series.getUnit());
+            assertEquals(x.length, series.size());
+            assertEquals(source.minY(), series.minY(), 0);
+            assertEquals(source.maxY(), series.maxY(), 0);
+            assertEquals(2997, series.x(999));
+            assertEquals(y[500], series.y(500), 0);
+            assertEquals(34, series.fromIndex(105));
+
+            final long[] copyX = new long[10];
+            final double[] copyY = new double[10];
+            series.copy(990, 1000, copyX, copyY);
+            assertArrayEquals(Arrays.copyOfRange(x, 990, 1000), copyX);
+            assertArrayEquals(Arrays.copyOfRange(y, 990, 1000), copyY, 0);
+        }
+    }
+
+    @Test
+    public void testLongValued() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("l.tser");
+        TemporalSeriesFile.write(path, axis, TemporalSeries.of("l", new long[]{1, 2}, new long[]{Long.MAX_VALUE, -1}));
+
+        try (MappedTemporalSeries series = MappedTemporalSeries.open(path)) {
+            assertTrue(series.isLongValued());
+            assertEquals(Long.MAX_VALUE, series.yLong(0));
+            assertEquals(-1, series.minYLong());
+        }
+    }
+
+    @Test
+    public void testConvertCsv() throws Exception {
+        final Path csv = folder.getRoot().toPath().resolve("s.csv");
+        Files.write(csv, Arrays.asList("time,value", base + ",1.5", base.plusSeconds(2) + ",-2,ignored", "",
+                base.plusMinutes(1) + ",3"), StandardCharsets.UTF_8);
+        final Path path = folder.getRoot().toPath().resolve("csv.tser");
+        TemporalSeriesFile.convertCsv(csv, path, axis, true);
+
+        try (MappedTemporalSeries series = MappedTemporalSeries.open(path)) {
+            assertEquals(3, series.size());
+            assertEquals(60, series.x(2));
+            assertEquals(-2, series.y(1), 0);
+            assertEquals(-2, series.minY(), 0);
+            assertEquals(3, series.maxY(), 0);
+        }
+        assertEquals(2, folder.getRoot().list().length); // temporary column removed
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertCsvOutOfOrder() throws Exception {
+        final Path csv = folder.getRoot().toPath().resolve("s.csv");
+        Files.write(csv, Arrays.asList(base.plusSeconds(2) + ",1", base + ",2"), StandardCharsets.UTF_8);
+        TemporalSeriesFile.convertCsv(csv, folder.getRoot().toPath().resolve("s.tser"), axis, false);
+    }
+
+    @Test
+    public void testCorruptHeader() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("s.tser");
+        TemporalSeriesFile.write(path, axis, TemporalSeries.of("s", new long[]{0, 1, 2}, new double[]{1, 2, 3}));
+        final long size = Files.size(path);
+        // count at 8, data offset at 16
+        assertCorrupt(path, 8, -1);
+        assertCorrupt(path, 8, 4);
+        assertCorrupt(path, 8, Long.MAX_VALUE / 8); // count * 16 overflows
+        assertCorrupt(path, 16, 8);
+        assertCorrupt(path, 16, 40); // no room for the strings
+        assertCorrupt(path, 16, 41); // not aligned
+        assertCorrupt(path, 16, size + 1);
+        assertCorrupt(path, 16, Integer.MAX_VALUE + 100L);
+    }
+
+    private void assertCorrupt(Path path, int position, long value) throws IOException {
+        final byte[] original = Files.readAllBytes(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write((ByteBuffer) ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(value).flip(),
+                    position);
+        }
+        try (MappedTemporalSeries ignored = MappedTemporalSeries.open(path)) {
+            fail("Opened with " + value + " at " + position);
+        } catch (IllegalArgumentException expected) {
+            // rejected before mapping
+        } finally {
+            Files.write(path, original);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * TemporalAxisGroupTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JfxRunner.class)
+public class TemporalAxisGroupTest {
+    private final LocalDateTime base = LocalDateTime.of(2015, 8, 15, 0, 0);
+    private final TemporalAxisGroup group = new TemporalAxisGroup();
+    private LocalDateTimeAxis leader;
+    private LocalDateTimeAxis follower;
+
+    @Before
+    public void setUp() {
+        leader = new LocalDateTimeAxis(base, base.plusHours(1), 10, ChronoUnit.MINUTES);
+        follower = new LocalDateTimeAxis(base, base.plusDays(1), 60, ChronoUnit.MINUTES);
+        group.add(leader);
+        group.add(follower);
+    }
+
+    @Test
+    public void testRangePropagation() {
+        assertEquals(60L, follower.upperBoundExact());
+        assertFalse(follower.isAutoRanging());
+
+        leader.setAutoRanging(true);
+        follower.setUpperBound(120);
+        assertEquals(120L, leader.upperBoundExact());
+        // panned away from the auto-range
+        assertFalse(leader.isAutoRanging());
+
+        leader.setBounds(30, 90, 15);
+        assertEquals(30L, follower.lowerBoundExact());
+        assertEquals(90L, follower.upperBoundExact());
+        assertEquals(15L, follower.getTickUnit());
+    }
+
+    @Test
+    public void testSharedTicksAndLabels() {
+        final TemporalAxisMetrics metrics = new TemporalAxisMetrics();
+        follower.setMetricsListener(metrics);
+        final List<Long> expected = leader.calculateTickValues(500, leader.getRange());
+        assertEquals(expected, follower.calculateTickValues(500, follower.getRange()));
+        assertEquals(1, metrics.getTickMemoHitCount());
+        assertEquals(0, metrics.getTickCount());
+        // another length is calculated
+        follower.calculateTickValues(300, follower.getRange());
+        assertEquals(1, metrics.getTickMemoHitCount());
+
+        assertEquals(leader.getTickMarkLabel(10L), follower.getTickMarkLabel(10L));
+        assertEquals(1, group.getLabelCacheHits());
+    }
+
+    @Test
+    public void testLabelsPerFormatter() {
+        final String isoLabel = leader.getTickMarkLabel(10L);
+        follower.setTemporalLabelFormatter(new LocalDateTimeAxis.AdaptiveLdtFormatter(follower));
+        final String adaptiveLabel = follower.getTickMarkLabel(10L);
+        assertEquals("00:10", adaptiveLabel);
+        assertEquals(isoLabel, leader.getTickMarkLabel(10L));
+        assertEquals(1, group.getLabelCacheHits());
+
+        // the same style again shares labels
+        leader.setTemporalLabelFormatter(new LocalDateTimeAxis.AdaptiveLdtFormatter(leader));
+        assertEquals(adaptiveLabel, leader.getTickMarkLabel(10L));
+        assertEquals(2, group.getLabelCacheHits());
+
+        // sizes depend on rotation
+        follower.setTickLabelRotation(45);
+        assertEquals(adaptiveLabel, follower.getTickMarkLabel(10L));
+        assertEquals(2, group.getLabelCacheHits());
+    }
+
+    @Test
+    public void testDataOfAllMembers() {
+        leader.invalidateRange(Arrays.asList(10L, 20L));
+        follower.invalidateRange(Arrays.asList(-5L, 100L));
+        assertTrue(group.hasData());
+        assertEquals(-5, group.dataMin());
+        assertEquals(100, group.dataMax());
+    }
+
+    @Test
+    public void testAddRemove() {
+        leader.setAutoRanging(true);
+        group.remove(leader);
+        assertNull(leader.getGroup());
+        assertEquals(follower, group.getLeader());
+        assertTrue(follower.isAutoRanging());
+
+        leader.setLowerBound(-10);
+        assertEquals(0L, follower.lowerBoundExact());
+    }
+
+    @Test
+    public void testRemoveRestoresSettings() {
+        final LocalDateTimeAxis member = new LocalDateTimeAxis(base, ChronoUnit.MINUTES);
+        assertTrue(member.isAutoRanging());
+        assertTrue(member.isAnimated());
+        group.add(member);
+        assertFalse(member.isAutoRanging());
+        assertFalse(member.isAnimated());
+
+        group.remove(member);
+        assertTrue(member.isAutoRanging());
+        assertTrue(member.isAnimated());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentUnit() {
+        group.add(new LocalDateTimeAxis(base, ChronoUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentSessions() {
+        final TemporalAxisGroup businessGroup = new TemporalAxisGroup();
+        businessGroup.add(new BusinessTimeAxis(base, ChronoUnit.MINUTES, sessions(LocalTime.of(9, 0))));
+        // the same sessions share ticks
+        businessGroup.add(new BusinessTimeAxis(base, ChronoUnit.MINUTES, sessions(LocalTime.of(9, 0))));
+        businessGroup.add(new BusinessTimeAxis(base, ChronoUnit.MINUTES, sessions(LocalTime.of(10, 0))));
+    }
+
+    private static SessionCalendar sessions(LocalTime open) {
+        return SessionCalendar.builder()
+                .weekly(LocalDate.of(2015, 8, 10), LocalDate.of(2015, 8, 17), open, LocalTime.of(17, 0),
+                        DayOfWeek.MONDAY, DayOfWeek.FRIDAY)
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentClass() {
+        group.add(new LocalDateAxis(LocalDate.of(2015, 8, 15), ChronoUnit.DAYS));
+    }
+}
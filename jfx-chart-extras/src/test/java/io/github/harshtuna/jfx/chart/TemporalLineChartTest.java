@@ -0,0 +1,128 @@
+/*
+ * TemporalLineChartTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JfxRunner.class)
+public class TemporalLineChartTest {
+    private static final int SIZE = 100_000;
+    private final LocalDateTime base = LocalDateTime.of(2015, 7, 5, 0, 0);
+    private LocalDateTimeAxis xAxis;
+    private LocalDateTimeAxis yAxis;
+    private TemporalLineChart<Long> chart;
+    private long[] x;
+    private long[] y;
+
+    @Before
+    public void setUp() {
+        xAxis = new LocalDateTimeAxis(base, base.plusSeconds(SIZE), 10_000, ChronoUnit.SECONDS);
+        yAxis = new LocalDateTimeAxis(base, base.plusDays(1), 60, ChronoUnit.MINUTES);
+        chart = new TemporalLineChart<>(xAxis, yAxis);
+        xAxis.resize(1000, 20);
+        yAxis.resize(20, 500);
+        xAxis.calculateNewScale(1000);
+        yAxis.calculateNewScale(500);
+        x = new long[SIZE];
+        y = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = i;
+            y[i] = i % 1440;
+        }
+    }
+
+    @Test
+    public void testRedrawOnlyOnChange() {
+        final TemporalLineChart.Line line = chart.addLine("line", x, y);
+        chart.layoutPlotChildren();
+        assertEquals(1, chart.redrawCount);
+        // at most 4 vertices per pixel column, whatever the number of points
+        assertTrue(chart.drawnVertexCount <= 4 * 1002);
+
+        chart.layoutPlotChildren();
+        assertEquals(1, chart.redrawCount);
+
+        line.setData(x, new long[SIZE]);
+        chart.layoutPlotChildren();
+        assertEquals(2, chart.redrawCount);
+
+        xAxis.setRange(new TemporalAxis.Range(0, SIZE / 2, 10_000, 0.02), false);
+        chart.layoutPlotChildren();
+        assertEquals(3, chart.redrawCount);
+    }
+
+    @Test
+    public void testInversedAxisDrawsSameVertices() {
+        chart.addLine("line", x, y);
+        chart.layoutPlotChildren();
+        final int vertices = chart.drawnVertexCount;
+
+        yAxis.inverse();
+        chart.layoutPlotChildren();
+        assertEquals(2, chart.redrawCount);
+        assertEquals(vertices, chart.drawnVertexCount);
+    }
+
+    @Test
+    public void testRedrawOnAppend() {
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofLongs("live");
+        series.appendAll(x, y);
+        final TemporalLineChart.Line line = chart.addLine(series);
+        chart.layoutPlotChildren();
+        assertEquals(1, chart.redrawCount);
+
+        series.append(SIZE, 0L);
+        chart.layoutPlotChildren();
+        assertEquals(2, chart.redrawCount);
+
+        chart.removeLine(line);
+        chart.layoutPlotChildren();
+        series.append(SIZE + 1, 0L);
+        chart.layoutPlotChildren();
+        assertEquals(3, chart.redrawCount);
+    }
+
+    @Test
+    public void testPyramidLevelWhenZoomedOut() {
+        final AggregationPyramid pyramid = AggregationPyramid.binary(1, 8);
+        final TemporalLineChart.Line line = chart.addLine("line", x, y).setPyramid(pyramid);
+        chart.layoutPlotChildren();
+        // 100 seconds per pixel, drawn from 64 second buckets
+        assertEquals(SIZE, pyramid.bucketCount(0));
+        assertTrue(chart.drawnVertexCount <= 4 * 1002);
+
+        line.setPyramid(null);
+        chart.layoutPlotChildren();
+        assertEquals(2, chart.redrawCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnLengthsDiffer() {
+        chart.addLine("line", x, new double[1]);
+    }
+}
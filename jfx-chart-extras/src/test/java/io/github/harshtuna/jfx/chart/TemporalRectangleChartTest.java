@@ -0,0 +1,109 @@
+/*
+ * TemporalRectangleChartTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JfxRunner.class)
+public class TemporalRectangleChartTest {
+    private static final int SIZE = 1000;
+    private LocalDateAxis validAxis;
+    private LocalDateTimeAxis recordedAxis;
+    private TemporalRectangleChart chart;
+    private BiTemporalSeries series;
+
+    @Before
+    public void setUp() {
+        validAxis = new LocalDateAxis(LocalDate.of(2015, 7, 5), LocalDate.of(2015, 10, 13), 10, ChronoUnit.DAYS);
+        final LocalDateTime base = LocalDateTime.of(2015, 7, 5, 0, 0);
+        recordedAxis = new LocalDateTimeAxis(base, base.plusDays(100), 10, ChronoUnit.DAYS);
+        validAxis.setAutoRanging(false);
+        recordedAxis.setAutoRanging(false);
+        chart = new TemporalRectangleChart(validAxis, recordedAxis);
+        validAxis.resize(1000, 20);
+        recordedAxis.resize(20, 500);
+        validAxis.calculateNewScale(1000);
+        recordedAxis.calculateNewScale(500);
+        // one version a day, each superseded by the next
+        final long[] validFrom = new long[SIZE];
+        final long[] validTo = new long[SIZE];
+        final long[] recordedFrom = new long[SIZE];
+        final long[] recordedTo = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            validFrom[i] = i;
+            validTo[i] = Long.MAX_VALUE;
+            recordedFrom[i] = i;
+            recordedTo[i] = i + 1;
+        }
+        series = BiTemporalSeries.of("versions", validFrom, validTo, recordedFrom, recordedTo);
+    }
+
+    @Test
+    public void testDrawsVisibleOnly() {
+        chart.addLayer(series);
+        chart.layoutPlotChildren();
+        assertEquals(1, chart.redrawCount);
+        // only the first hundred days are in view, plus the one ending at the lower bound
+        assertEquals(101, chart.drawnRectangleCount);
+
+        chart.layoutPlotChildren();
+        assertEquals(1, chart.redrawCount);
+
+        validAxis.setRange(new TemporalAxis.Range(450, 550, 10, 10), false);
+        recordedAxis.setRange(new TemporalAxis.Range(500, 510, 1, -50), false);
+        chart.layoutPlotChildren();
+        assertEquals(2, chart.redrawCount);
+        assertEquals(12, chart.drawnRectangleCount);
+    }
+
+    @Test
+    public void testAutoRangeLeavesOutOpenEnds() {
+        validAxis.setAutoRanging(true);
+        recordedAxis.setAutoRanging(true);
+        chart.addLayer(series);
+        assertEquals(0, validAxis.dataMin());
+        assertEquals(SIZE - 1, validAxis.dataMax());
+        assertEquals(0, recordedAxis.dataMin());
+        assertEquals(SIZE, recordedAxis.dataMax());
+
+        // open on both sides, the other layer's extremes only
+        chart.addLayer(BiTemporalSeries.of("open", new long[]{Long.MIN_VALUE, -5}, new long[]{Long.MAX_VALUE, 2000},
+                new long[]{Long.MIN_VALUE, 10}, new long[]{Long.MAX_VALUE, Long.MAX_VALUE}));
+        assertEquals(-5, validAxis.dataMin());
+        assertEquals(2000, validAxis.dataMax());
+        assertEquals(0, recordedAxis.dataMin());
+        assertEquals(SIZE, recordedAxis.dataMax());
+    }
+
+    @Test
+    public void testHiddenLayer() {
+        chart.addLayer(series).setVisible(false);
+        chart.layoutPlotChildren();
+        assertEquals(0, chart.drawnRectangleCount);
+    }
+}
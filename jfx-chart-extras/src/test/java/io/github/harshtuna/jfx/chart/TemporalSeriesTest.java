@@ -0,0 +1,97 @@
+/*
+ * TemporalSeriesTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TemporalSeriesTest {
+
+    @Test
+    public void testAppendAcrossChunks() {
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofDoubles("s");
+        final int size = AppendableTemporalSeries.CHUNK_SIZE * 2 + 10;
+        final long[] x = new long[size - 1];
+        final double[] y = new double[size - 1];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i * 2;
+            y[i] = i % 100;
+        }
+        final int[] changes = {0};
+        series.addListener(observable -> changes[0]++);
+        series.append(-2, -1.0);
+        series.appendAll(x, y);
+
+        assertEquals(2, changes[0]);
+        assertEquals(size, series.size());
+        assertEquals(-2, series.x(0));
+        assertEquals(AppendableTemporalSeries.CHUNK_SIZE * 2 - 2, series.x(AppendableTemporalSeries.CHUNK_SIZE));
+        assertEquals(-1, series.minY(), 0);
+        assertEquals(99, series.maxY(), 0);
+
+        final long[] copyX = new long[4];
+        final double[] copyY = new double[4];
+        series.copy(AppendableTemporalSeries.CHUNK_SIZE - 2, AppendableTemporalSeries.CHUNK_SIZE + 2, copyX, copyY);
+        assertEquals(series.x(AppendableTemporalSeries.CHUNK_SIZE + 1), copyX[3]);
+        assertEquals(series.y(AppendableTemporalSeries.CHUNK_SIZE - 2), copyY[0], 0);
+    }
+
+    @Test
+    public void testVisibleSlice() {
+        final TemporalSeries series = TemporalSeries.of("s", new long[]{0, 10, 20, 20, 30, 40}, new long[]{1, 2, 3, 4, 5, 6});
+
+        assertEquals(2, series.ceilingIndex(15));
+        assertEquals(2, series.ceilingIndex(20));
+        assertEquals(6, series.ceilingIndex(41));
+        assertEquals(1, series.fromIndex(15));
+        assertEquals(5, series.toIndex(25));
+        assertEquals(0, series.fromIndex(-5));
+        assertEquals(6, series.toIndex(100));
+        assertEquals(1, series.minYLong());
+        assertEquals(6, series.maxY(), 0);
+    }
+
+    @Test
+    public void testClear() {
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofLongs("s");
+        series.appendAll(new long[]{1, 2, 3}, new long[]{Long.MAX_VALUE, 0, -5});
+        assertEquals(Long.MAX_VALUE, series.maxYLong());
+        assertEquals(-5, series.minYLong());
+
+        series.clear();
+        series.append(7, 3L);
+        assertEquals(1, series.size());
+        assertEquals(3, series.maxYLong());
+        assertArrayEquals(new long[]{7}, new long[]{series.x(0)});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendOutOfOrder() {
+        final AppendableTemporalSeries series = AppendableTemporalSeries.ofDoubles("s");
+        series.append(5, 1.0);
+        series.append(4, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendWrongValueType() {
+        AppendableTemporalSeries.ofDoubles("s").append(5, 1L);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * ZonedDateTimeAxisTest.java
+ *
+ * Copyright 2015 Alexey Egorov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.harshtuna.jfx.chart;
+
+import de.saxsys.javafx.test.JfxRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JfxRunner.class)
+public class ZonedDateTimeAxisTest {
+    private final ZoneId berlin = ZoneId.of("Europe/Berlin");
+    // DST began at 02:00 CET on 2015-03-29
+    private final ZonedDateTime base = ZonedDateTime.of(2015, 3, 29, 0, 0, 0, 0, berlin);
+
+    @Test
+    public void testInstantOffsets() {
+        final ZonedDateTimeAxis axis = new ZonedDateTimeAxis(base, ChronoUnit.HOURS);
+
+        assertEquals(3, axis.toLong(base.withHour(4)));
+        assertEquals(3, axis.toLong(base.withHour(4).withZoneSameInstant(ZoneId.of("UTC"))));
+        assertEquals(base.withHour(4), axis.toTemporal(3));
+    }
+
+    @Test
+    public void testAdaptiveLabelsInDisplayZone() {
+        final ZonedDateTimeAxis axis = new ZonedDateTimeAxis(base, base.plusHours(5), 1, ChronoUnit.HOURS);
+        axis.setTemporalLabelFormatter(new ZonedDateTimeAxis.AdaptiveZdtFormatter(axis));
+
+        assertEquals("01:00", axis.getTickMarkLabel(1L));
+        assertEquals("03:00", axis.getTickMarkLabel(2L));
+        assertEquals(axis.getTickMarkLabel(axis.toTemporal(2)), axis.getTickMarkLabel(2L));
+
+        axis.setDisplayZone(ZoneId.of("UTC"));
+        assertEquals("03-29 00:00", axis.getTickMarkLabel(1L)); // range now spans two days
+        assertEquals("03-28 23:00", axis.getTickMarkLabel(0L));
+    }
+
+    @Test
+    public void testDefaultLabel() {
+        final ZonedDateTimeAxis axis = new ZonedDateTimeAxis(base, ChronoUnit.MINUTES);
+
+        assertEquals("2015-03-29T03:00:00+02:00[Europe/Berlin]", axis.getTickMarkLabel(120L));
+        assertEquals(120, axis.parse("2015-03-29T03:00+02:00[Europe/Berlin]"));
+    }
+}